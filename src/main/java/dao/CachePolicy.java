@@ -0,0 +1,35 @@
+package dao;
+
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Which methods of a DAO interface {@link CachingDAO} caches and which ones invalidate
+ * those cached results. Methods are named without parameter types, so a name covers all
+ * of its overloads. {@code copier} copies a single mutable result, such as one entity;
+ * {@link CachingDAO} applies it to each element of list and page results.
+ */
+public record CachePolicy(Set<String> cacheable, Set<String> invalidating, UnaryOperator<Object> copier) {
+
+    public CachePolicy {
+        cacheable = Set.copyOf(cacheable);
+        invalidating = Set.copyOf(invalidating);
+    }
+
+    public static CachePolicy cache(String... reads) {
+        return new CachePolicy(Set.of(reads), Set.of(), UnaryOperator.identity());
+    }
+
+    public CachePolicy invalidatedBy(String... writes) {
+        return new CachePolicy(cacheable, Set.of(writes), copier);
+    }
+
+    /**
+     * Copies every cached {@code type} instance before it is handed out, so callers may
+     * modify what they get without changing the cache.
+     */
+    public <E> CachePolicy copying(Class<E> type, UnaryOperator<E> copy) {
+        return new CachePolicy(cacheable, invalidating,
+                value -> type.isInstance(value) ? copy.apply(type.cast(value)) : value);
+    }
+}
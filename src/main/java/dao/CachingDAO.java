@@ -0,0 +1,123 @@
+package dao;
+
+import database.TransactionTemplate;
+import model.Page;
+import util.LruCache;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Caching decorator for any DAO interface, built as a dynamic proxy over the real
+ * implementation. Results of the reads named cacheable in the {@link CachePolicy} are kept
+ * in an {@link LruCache} keyed by method and arguments. An invalidating write drops every
+ * cached result, right away and again after its transaction commits. Everything else passes
+ * straight through.
+ * <p>
+ * Inside a transaction, reads skip the cache, so uncommitted rows are never cached. Null
+ * results are not cached. The cache keeps its own copy of each result and every caller
+ * gets a fresh one: lists come back as new {@link ArrayList}s, pages with new item lists,
+ * and elements are copied with {@link CachePolicy#copier()}.
+ * <p>
+ * Invalidation is local to this process. Writes made by another process or straight to
+ * the database become visible only when the entries expire.
+ */
+public final class CachingDAO<T> implements InvocationHandler {
+
+    private final T target;
+    private final T proxy;
+    private final CachePolicy policy;
+    private final LruCache<Key, Object> cache;
+
+    public CachingDAO(Class<T> type, T target, CachePolicy policy, int maxSize, Duration timeToLive) {
+        Set<String> declared = Arrays.stream(type.getMethods()).map(Method::getName).collect(Collectors.toSet());
+        for (String name : policy.cacheable()) {
+            requireDeclared(type, declared, name);
+        }
+        for (String name : policy.invalidating()) {
+            requireDeclared(type, declared, name);
+        }
+        this.target = target;
+        this.policy = policy;
+        this.cache = new LruCache<>(maxSize, timeToLive);
+        this.proxy = type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, this));
+    }
+
+    public T proxy() {
+        return proxy;
+    }
+
+    public LruCache.Stats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (policy.invalidating().contains(name)) {
+            try {
+                return call(method, args);
+            } finally {
+                cache.invalidateAll();
+                TransactionTemplate.afterCommit(cache::invalidateAll);
+            }
+        }
+        if (!policy.cacheable().contains(name) || TransactionTemplate.isActive()) {
+            return call(method, args);
+        }
+        Key key = new Key(method, args == null ? List.of() : Arrays.asList(args.clone()));
+        Object cached = cache.get(key);
+        if (cached != null) {
+            return copy(cached);
+        }
+        long version = cache.version();
+        Object loaded = call(method, args);
+        if (loaded != null) {
+            cache.putIfVersion(version, key, copy(loaded));
+        }
+        return loaded;
+    }
+
+    private Object copy(Object value) {
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object element : list) {
+                copy.add(policy.copier().apply(element));
+            }
+            return copy;
+        }
+        if (value instanceof Page<?> page) {
+            List<Object> items = new ArrayList<>(page.items().size());
+            for (Object item : page.items()) {
+                items.add(policy.copier().apply(item));
+            }
+            return new Page<>(List.copyOf(items), page.next());
+        }
+        return policy.copier().apply(value);
+    }
+
+    private Object call(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void requireDeclared(Class<?> type, Set<String> declared, String name) {
+        if (!declared.contains(name)) {
+            throw new IllegalArgumentException(type.getSimpleName() + " has no method " + name);
+        }
+    }
+
+    private record Key(Method method, List<Object> args) {
+    }
+}
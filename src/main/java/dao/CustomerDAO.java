@@ -1,192 +1,42 @@
 package dao;
 
-import database.DatabaseConnection;
+import model.Page;
+import model.PageCursor;
 import model.user.Customer;
 
-import java.sql.*;
-import java.util.ArrayList;
 import java.util.List;
 
-public class CustomerDAO {
-
-    private final Connection connection;
-
-    public CustomerDAO() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
-    }
-
-    public int create(Customer customer) {
-        String sql = "INSERT INTO customers (username, first_name, last_name, email, phone, national_id, password_hash, is_active) VALUES (?,?,?,?,?,?,?,?)";
-        try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            ps.setString(1, customer.getUsername());
-            ps.setString(2, customer.getFirstName());
-            ps.setString(3, customer.getLastName());
-            ps.setString(4, customer.getEmail());
-            ps.setString(5, customer.getPhone());
-            ps.setString(6, customer.getNationalId());
-            ps.setString(7, customer.getPasswordHash());
-            ps.setBoolean(8, customer.isActive());
-            ps.executeUpdate();
-            try (ResultSet rs = ps.getGeneratedKeys()) {
-                if (rs.next()) {
-                    int id = rs.getInt(1);
-                    customer.setId(id);
-                    return id;
-                }
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to create customer", e);
-        }
-        return -1;
-    }
-
-    public Customer findById(int id) {
-        String sql = "SELECT * FROM customers WHERE customer_id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, id);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    return mapRow(rs);
-                }
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to find customer", e);
-        }
-        return null;
-    }
-
-    public Customer findByIdentifier(String identifier) {
-        String sql = "SELECT * FROM customers WHERE username=? OR email=? OR national_id=?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setString(1, identifier);
-            ps.setString(2, identifier);
-            ps.setString(3, identifier);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    return mapRow(rs);
-                }
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to find customer by identifier", e);
-        }
-        return null;
-    }
-
-    public Customer findByEmail(String email) {
-        String sql = "SELECT * FROM customers WHERE email = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setString(1, email);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    return mapRow(rs);
-                }
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to find customer by email", e);
-        }
-        return null;
-    }
-
-    public List<Customer> findAll() {
-        List<Customer> customers = new ArrayList<>();
-        String sql = "SELECT * FROM customers";
-        try (PreparedStatement ps = connection.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-            while (rs.next()) {
-                customers.add(mapRow(rs));
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to list customers", e);
-        }
-        return customers;
-    }
-
-    public List<Customer> search(String term) {
-        List<Customer> customers = new ArrayList<>();
-        String like = "%" + term + "%";
-        String sql = """
-                SELECT * FROM customers
-                WHERE first_name LIKE ? OR last_name LIKE ? OR email LIKE ? OR phone LIKE ? OR national_id LIKE ? OR username LIKE ?
-                """;
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setString(1, like);
-            ps.setString(2, like);
-            ps.setString(3, like);
-            ps.setString(4, like);
-            ps.setString(5, like);
-            ps.setString(6, like);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    customers.add(mapRow(rs));
-                }
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to search customers", e);
-        }
-        return customers;
-    }
-
-    public boolean existsByUsernameOrEmailOrNationalId(String username, String email, String nationalId) {
-        String sql = "SELECT 1 FROM customers WHERE username = ? OR email = ? OR national_id = ? LIMIT 1";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setString(1, username);
-            ps.setString(2, email);
-            ps.setString(3, nationalId);
-            try (ResultSet rs = ps.executeQuery()) {
-                return rs.next();
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to check customer uniqueness", e);
-        }
-    }
-
-    public void update(Customer customer) {
-        String sql = "UPDATE customers SET username=?, first_name=?, last_name=?, email=?, phone=?, national_id=?, password_hash=?, is_active=? WHERE customer_id=?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setString(1, customer.getUsername());
-            ps.setString(2, customer.getFirstName());
-            ps.setString(3, customer.getLastName());
-            ps.setString(4, customer.getEmail());
-            ps.setString(5, customer.getPhone());
-            ps.setString(6, customer.getNationalId());
-            ps.setString(7, customer.getPasswordHash());
-            ps.setBoolean(8, customer.isActive());
-            ps.setInt(9, customer.getId());
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to update customer", e);
-        }
-    }
-
-    public void deactivate(int id) {
-        String sql = "UPDATE customers SET is_active = FALSE WHERE customer_id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, id);
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to deactivate customer", e);
-        }
-    }
-
-    public void deleteAccount(int id) {
-        try {
-            deactivate(id);
-        } catch (RuntimeException e) {
-            throw new RuntimeException("Failed to deactivate customer account", e);
-        }
-    }
-
-    private Customer mapRow(ResultSet rs) throws SQLException {
-        Customer customer = new Customer();
-        customer.setId(rs.getInt("customer_id"));
-        customer.setUsername(rs.getString("username"));
-        customer.setFirstName(rs.getString("first_name"));
-        customer.setLastName(rs.getString("last_name"));
-        customer.setEmail(rs.getString("email"));
-        customer.setPhone(rs.getString("phone"));
-        customer.setNationalId(rs.getString("national_id"));
-        customer.setPasswordHash(rs.getString("password_hash"));
-        customer.setActive(rs.getBoolean("is_active"));
-        return customer;
-    }
+/**
+ * Customer accounts. {@link JdbcCustomerDAO} is the database implementation.
+ */
+public interface CustomerDAO {
+
+    int create(Customer customer);
+
+    Customer findById(int id);
+
+    Customer findByIdentifier(String identifier);
+
+    /**
+     * Like {@link #findByIdentifier} but never answered from a cache, for authentication.
+     */
+    Customer findByIdentifierForLogin(String identifier);
+
+    Customer findByEmail(String email);
+
+    List<Customer> findAll();
+
+    Page<Customer> findPage(PageCursor after, int limit);
+
+    List<Customer> search(String term);
+
+    boolean existsByUsernameOrEmailOrNationalId(String username, String email, String nationalId);
+
+    void update(Customer customer);
+
+    boolean replacePasswordHash(int id, String expectedHash, String newHash);
+
+    void deactivate(int id);
+
+    void deleteAccount(int id);
 }
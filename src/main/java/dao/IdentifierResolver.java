@@ -0,0 +1,71 @@
+package dao;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Login identifiers are a username, an email or an 11-digit national id. Instead of
+ * {@code username=? OR email=? OR national_id=?}, which MySQL often answers with a scan,
+ * callers look the identifier up by the one unique column its shape points to, and fall
+ * back to the username column only if that misses. Resolved ids are remembered in a small
+ * LRU map; a cached id is trusted only after the loaded row still carries the identifier.
+ */
+final class IdentifierResolver {
+
+    enum Column {
+        NATIONAL_ID("national_id"),
+        EMAIL("email"),
+        USERNAME("username");
+
+        private final String name;
+
+        Column(String name) {
+            this.name = name;
+        }
+
+        String sqlName() {
+            return name;
+        }
+    }
+
+    private final Map<String, Integer> ids;
+
+    IdentifierResolver(int capacity) {
+        this.ids = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    static Column classify(String identifier) {
+        if (identifier.length() == 11 && identifier.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            return Column.NATIONAL_ID;
+        }
+        if (identifier.indexOf('@') >= 0) {
+            return Column.EMAIL;
+        }
+        return Column.USERNAME;
+    }
+
+    /**
+     * Whether a loaded row still answers to {@code identifier}. Case is ignored like the
+     * database collation does.
+     */
+    static boolean matches(String identifier, String username, String email, String nationalId) {
+        return identifier.equalsIgnoreCase(username) || identifier.equalsIgnoreCase(email) || identifier.equals(nationalId);
+    }
+
+    synchronized Integer cachedId(String identifier) {
+        return ids.get(identifier);
+    }
+
+    synchronized void remember(String identifier, int id) {
+        ids.put(identifier, id);
+    }
+
+    synchronized void forget(String identifier) {
+        ids.remove(identifier);
+    }
+}
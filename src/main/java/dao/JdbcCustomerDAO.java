@@ -0,0 +1,353 @@
+package dao;
+
+import database.DatabaseConnection;
+import database.TransactionTemplate;
+import model.Page;
+import model.PageCursor;
+import model.user.Customer;
+import util.LruCache;
+import util.Settings;
+
+import java.sql.*;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+public class JdbcCustomerDAO implements CustomerDAO {
+
+    private static final IdentifierResolver IDENTIFIERS = new IdentifierResolver(1024);
+    private static final UniqueValueFilter UNIQUE_VALUES = new UniqueValueFilter("customers");
+    // Holds private copies: callers get their own instance and may modify it freely.
+    private static final LruCache<Integer, Customer> BY_ID = new LruCache<>(
+            Settings.intSetting("CUSTOMER_CACHE_SIZE", 500),
+            Duration.ofMinutes(Settings.intSetting("CUSTOMER_CACHE_TTL_MINUTES", 10)));
+
+    private final DatabaseConnection database;
+
+    public JdbcCustomerDAO(DatabaseConnection database) {
+        this.database = database;
+    }
+
+    @Override
+    public int create(Customer customer) {
+        String sql = "INSERT INTO customers (username, first_name, last_name, email, phone, national_id, password_hash, is_active) VALUES (?,?,?,?,?,?,?,?)";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            ps.setString(1, customer.getUsername());
+            ps.setString(2, customer.getFirstName());
+            ps.setString(3, customer.getLastName());
+            ps.setString(4, customer.getEmail());
+            ps.setString(5, customer.getPhone());
+            ps.setString(6, customer.getNationalId());
+            ps.setString(7, customer.getPasswordHash());
+            ps.setBoolean(8, customer.isActive());
+            ps.executeUpdate();
+            UNIQUE_VALUES.add(customer.getUsername(), customer.getEmail(), customer.getNationalId());
+            try (ResultSet rs = ps.getGeneratedKeys()) {
+                if (rs.next()) {
+                    int id = rs.getInt(1);
+                    customer.setId(id);
+                    return id;
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to create customer", e);
+        }
+        return -1;
+    }
+
+    /**
+     * Served from a shared LRU cache, which {@link #update}, {@link #deactivate},
+     * {@link #deleteAccount} and {@link #replacePasswordHash} invalidate. Changes made by
+     * other processes show up only when the entry expires, so authentication goes through
+     * {@link #findByIdentifierForLogin} instead. Inside a transaction the cache is neither
+     * read nor filled, so uncommitted rows never reach it.
+     */
+    @Override
+    public Customer findById(int id) {
+        if (TransactionTemplate.isActive()) {
+            return loadById(id);
+        }
+        Customer cached = BY_ID.get(id);
+        if (cached != null) {
+            return new Customer(cached);
+        }
+        long version = BY_ID.version();
+        Customer loaded = loadById(id);
+        if (loaded != null) {
+            BY_ID.putIfVersion(version, id, new Customer(loaded));
+        }
+        return loaded;
+    }
+
+    public static LruCache.Stats cacheStats() {
+        return BY_ID.stats();
+    }
+
+    private Customer loadById(int id) {
+        String sql = "SELECT * FROM customers WHERE customer_id = ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return mapRow(rs);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find customer", e);
+        }
+        return null;
+    }
+
+    @Override
+    public Customer findByIdentifier(String identifier) {
+        return resolve(identifier, this::findById);
+    }
+
+    /**
+     * Reads the row from the database even when it is cached, so a password change or
+     * deactivation made by another process takes effect on the next login.
+     */
+    @Override
+    public Customer findByIdentifierForLogin(String identifier) {
+        return resolve(identifier, this::loadById);
+    }
+
+    private Customer resolve(String identifier, IntFunction<Customer> byId) {
+        if (identifier == null) {
+            return null;
+        }
+        Integer cachedId = IDENTIFIERS.cachedId(identifier);
+        if (cachedId != null) {
+            Customer known = byId.apply(cachedId);
+            if (known != null && IdentifierResolver.matches(identifier, known.getUsername(), known.getEmail(), known.getNationalId())) {
+                return known;
+            }
+            IDENTIFIERS.forget(identifier);
+        }
+        IdentifierResolver.Column column = IdentifierResolver.classify(identifier);
+        Customer found = findByColumn(column, identifier);
+        if (found == null && column != IdentifierResolver.Column.USERNAME) {
+            found = findByColumn(IdentifierResolver.Column.USERNAME, identifier);
+        }
+        if (found != null) {
+            IDENTIFIERS.remember(identifier, found.getId());
+        }
+        return found;
+    }
+
+    private Customer findByColumn(IdentifierResolver.Column column, String value) {
+        String sql = "SELECT * FROM customers WHERE " + column.sqlName() + " = ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, value);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return mapRow(rs);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find customer by identifier", e);
+        }
+        return null;
+    }
+
+    @Override
+    public Customer findByEmail(String email) {
+        String sql = "SELECT * FROM customers WHERE email = ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, email);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return mapRow(rs);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find customer by email", e);
+        }
+        return null;
+    }
+
+    @Override
+    public List<Customer> findAll() {
+        List<Customer> customers = new ArrayList<>();
+        String sql = "SELECT * FROM customers";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                customers.add(mapRow(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list customers", e);
+        }
+        return customers;
+    }
+
+    @Override
+    public Page<Customer> findPage(PageCursor after, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        List<Customer> customers = new ArrayList<>();
+        String sql = after == null
+                ? "SELECT * FROM customers ORDER BY created_at DESC, customer_id DESC LIMIT ?"
+                : "SELECT * FROM customers WHERE created_at < ? OR (created_at = ? AND customer_id < ?) ORDER BY created_at DESC, customer_id DESC LIMIT ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = 1;
+            if (after != null) {
+                Timestamp createdAt = Timestamp.from(after.createdAt());
+                ps.setTimestamp(index++, createdAt);
+                ps.setTimestamp(index++, createdAt);
+                ps.setInt(index++, after.id());
+            }
+            ps.setInt(index, limit + 1);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    customers.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list customer page", e);
+        }
+        return Page.of(customers, limit, u -> new PageCursor(u.getCreatedAt(), u.getId()));
+    }
+
+    @Override
+    public List<Customer> search(String term) {
+        List<Customer> customers = new ArrayList<>();
+        String like = "%" + term + "%";
+        String sql = """
+                SELECT * FROM customers
+                WHERE first_name LIKE ? OR last_name LIKE ? OR email LIKE ? OR phone LIKE ? OR national_id LIKE ? OR username LIKE ?
+                """;
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, like);
+            ps.setString(2, like);
+            ps.setString(3, like);
+            ps.setString(4, like);
+            ps.setString(5, like);
+            ps.setString(6, like);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    customers.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to search customers", e);
+        }
+        return customers;
+    }
+
+    /**
+     * Values the Bloom filter has never seen are answered without a query.
+     */
+    @Override
+    public boolean existsByUsernameOrEmailOrNationalId(String username, String email, String nationalId) {
+        if (!UNIQUE_VALUES.mightExist(username, email, nationalId)) {
+            return false;
+        }
+        String sql = "SELECT 1 FROM customers WHERE username = ? OR email = ? OR national_id = ? LIMIT 1";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, username);
+            ps.setString(2, email);
+            ps.setString(3, nationalId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to check customer uniqueness", e);
+        }
+    }
+
+    @Override
+    public void update(Customer customer) {
+        String sql = "UPDATE customers SET username=?, first_name=?, last_name=?, email=?, phone=?, national_id=?, password_hash=?, is_active=? WHERE customer_id=?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, customer.getUsername());
+            ps.setString(2, customer.getFirstName());
+            ps.setString(3, customer.getLastName());
+            ps.setString(4, customer.getEmail());
+            ps.setString(5, customer.getPhone());
+            ps.setString(6, customer.getNationalId());
+            ps.setString(7, customer.getPasswordHash());
+            ps.setBoolean(8, customer.isActive());
+            ps.setInt(9, customer.getId());
+            ps.executeUpdate();
+            invalidate(customer.getId());
+            UNIQUE_VALUES.add(customer.getUsername(), customer.getEmail(), customer.getNationalId());
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to update customer", e);
+        }
+    }
+
+    /**
+     * Replaces the password hash only if it is still {@code expectedHash}, so an upgrade
+     * after login never overwrites a password changed in the meantime.
+     */
+    @Override
+    public boolean replacePasswordHash(int id, String expectedHash, String newHash) {
+        String sql = "UPDATE customers SET password_hash = ? WHERE customer_id = ? AND password_hash = ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, newHash);
+            ps.setInt(2, id);
+            ps.setString(3, expectedHash);
+            boolean replaced = ps.executeUpdate() > 0;
+            invalidate(id);
+            return replaced;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to update customer password", e);
+        }
+    }
+
+    @Override
+    public void deactivate(int id) {
+        String sql = "UPDATE customers SET is_active = FALSE WHERE customer_id = ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, id);
+            ps.executeUpdate();
+            invalidate(id);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to deactivate customer", e);
+        }
+    }
+
+    @Override
+    public void deleteAccount(int id) {
+        try {
+            deactivate(id);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Failed to deactivate customer account", e);
+        }
+    }
+
+    private void invalidate(int id) {
+        BY_ID.invalidate(id);
+        TransactionTemplate.afterCommit(() -> BY_ID.invalidate(id));
+    }
+
+    private Customer mapRow(ResultSet rs) throws SQLException {
+        Customer customer = new Customer();
+        customer.setId(rs.getInt("customer_id"));
+        customer.setUsername(rs.getString("username"));
+        customer.setFirstName(rs.getString("first_name"));
+        customer.setLastName(rs.getString("last_name"));
+        customer.setEmail(rs.getString("email"));
+        customer.setPhone(rs.getString("phone"));
+        customer.setNationalId(rs.getString("national_id"));
+        customer.setPasswordHash(rs.getString("password_hash"));
+        customer.setActive(rs.getBoolean("is_active"));
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        customer.setCreatedAt(createdAt == null ? null : createdAt.toInstant());
+        return customer;
+    }
+}
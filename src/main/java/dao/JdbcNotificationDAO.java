@@ -0,0 +1,688 @@
+package dao;
+
+import database.DatabaseConnection;
+import database.TransactionTemplate;
+import model.Notification;
+import model.NotificationContent;
+import model.NotificationReader;
+import model.Page;
+import model.PageCursor;
+
+import java.sql.*;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Notifications are stored once per event in {@code notification_messages}. Direct
+ * recipients get a row in {@code notification_receipts}; "all active staff" and
+ * "admins" are audience flags on the message and are resolved when reading, so an event
+ * costs one message row however many staff members see it. A staff member only sees the
+ * audience messages created since they joined.
+ * <p>
+ * Read state has one source: a receipt's {@code is_read}. Every mark-read method updates
+ * receipts, and the per-recipient and overview queries read them. Audience members only
+ * get a receipt when they mark a message read; until then their watermark in
+ * {@code notification_read_marks}, moved by "mark all read", decides whether an audience
+ * message counts as read for them. The watermark never overrides a receipt.
+ * <p>
+ * Old messages that every direct recipient and every staff member in their audience has
+ * read are moved to the {@code _archive} tables by {@link #archiveBatch(Instant, int)}.
+ */
+public class JdbcNotificationDAO implements NotificationDAO {
+
+    private static final String SELECT_FOR_USER = """
+            SELECT m.message_id, m.message, m.template, m.reservation_id, m.room_id, m.actor_id,
+                   m.start_date, m.end_date, m.created_at,
+                   COALESCE(r.is_read, m.message_id <= COALESCE(w.read_up_to, 0)) AS is_read
+            """;
+    private static final String VISIBLE_TO_USER = """
+            FROM notification_messages m
+            LEFT JOIN notification_receipts r
+                   ON r.message_id = m.message_id AND r.user_type = ? AND r.user_id = ?
+            LEFT JOIN notification_read_marks w
+                   ON w.user_type = ? AND w.user_id = ?
+            WHERE (r.message_id IS NOT NULL
+                   OR (((m.to_all_staff AND ?) OR (m.to_admins AND ?)) AND m.created_at >= ?))
+            """;
+    private static final String ARCHIVED_FOR_USER = """
+            SELECT m.message_id, m.message, m.template, m.reservation_id, m.room_id, m.actor_id,
+                   m.start_date, m.end_date, m.created_at
+            FROM notification_messages_archive m
+            LEFT JOIN notification_receipts_archive r
+                   ON r.message_id = m.message_id AND r.user_type = ? AND r.user_id = ?
+            WHERE (r.message_id IS NOT NULL
+                   OR (((m.to_all_staff AND ?) OR (m.to_admins AND ?)) AND m.created_at >= ?))
+            """;
+    private static final String AFTER_CURSOR = "(m.created_at < ? OR (m.created_at = ? AND m.message_id < ?))";
+    private static final String UNREAD = " AND NOT COALESCE(r.is_read, m.message_id <= COALESCE(w.read_up_to, 0))";
+    private static final String NEWEST_FIRST = " ORDER BY m.created_at DESC, m.message_id DESC";
+
+    private final DatabaseConnection database;
+
+    public JdbcNotificationDAO(DatabaseConnection database) {
+        this.database = database;
+    }
+
+    /**
+     * Stores one message addressed to {@code recipients} (only their user type and id are
+     * used) plus the given audiences, and returns the message id.
+     */
+    @Override
+    public int createMessage(String message, boolean toAllStaff, boolean toAdmins, List<Notification> recipients) {
+        return insertMessage(message, null, toAllStaff, toAdmins, recipients);
+    }
+
+    /**
+     * Same as {@link #createMessage(String, boolean, boolean, List)} for a templated
+     * notification; only the template id and its parameters are stored.
+     */
+    @Override
+    public int createMessage(NotificationContent content, boolean toAllStaff, boolean toAdmins, List<Notification> recipients) {
+        return insertMessage(null, content, toAllStaff, toAdmins, recipients);
+    }
+
+    private int insertMessage(String message, NotificationContent content, boolean toAllStaff, boolean toAdmins,
+                              List<Notification> recipients) {
+        String sql = "INSERT INTO notification_messages (message, to_all_staff, to_admins, "
+                + NotificationContentColumns.COLUMNS + ") VALUES (?,?,?," + NotificationContentColumns.PLACEHOLDERS + ")";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            ps.setString(1, message);
+            ps.setBoolean(2, toAllStaff);
+            ps.setBoolean(3, toAdmins);
+            NotificationContentColumns.bind(ps, 4, content);
+            ps.executeUpdate();
+            int messageId;
+            try (ResultSet rs = ps.getGeneratedKeys()) {
+                if (!rs.next()) {
+                    throw new SQLException("No id generated for notification message");
+                }
+                messageId = rs.getInt(1);
+            }
+            insertReceipts(connection, messageId, recipients);
+            return messageId;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to create notification", e);
+        }
+    }
+
+    private void insertReceipts(Connection connection, int messageId, List<Notification> recipients) throws SQLException {
+        if (recipients.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT IGNORE INTO notification_receipts (message_id, user_type, user_id) VALUES (?,?,?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (Notification recipient : recipients) {
+                ps.setInt(1, messageId);
+                ps.setString(2, recipient.getUserType());
+                ps.setInt(3, recipient.getUserId());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    @Override
+    public List<Notification> findForUser(NotificationReader reader) {
+        return queryForUser(reader, null, 0, 0);
+    }
+
+    /**
+     * Notifications visible to the user with an id above {@code afterId}, newest first;
+     * used to poll for what arrived since the last refresh.
+     */
+    @Override
+    public List<Notification> findForUserSince(NotificationReader reader, int afterId) {
+        return queryForUser(reader, null, afterId, 0);
+    }
+
+    @Override
+    public int countUnreadForUser(NotificationReader reader) {
+        String sql = "SELECT COUNT(*) " + VISIBLE_TO_USER + UNREAD;
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            bindReader(ps, 1, reader);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to count unread notifications", e);
+        }
+    }
+
+    @Override
+    public Page<Notification> findPageForUser(NotificationReader reader, PageCursor after, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        List<Notification> rows = queryForUser(reader, after, 0, limit + 1);
+        return Page.of(rows, limit, n -> new PageCursor(n.getCreatedAt(), n.getId()));
+    }
+
+    private List<Notification> queryForUser(NotificationReader reader, PageCursor after, int afterId, int maxRows) {
+        String sql = SELECT_FOR_USER + VISIBLE_TO_USER
+                + (after != null ? " AND " + AFTER_CURSOR : "")
+                + (afterId > 0 ? " AND m.message_id > ?" : "")
+                + NEWEST_FIRST + (maxRows > 0 ? " LIMIT ?" : "");
+        List<Notification> notifications = new ArrayList<>();
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = bindReader(ps, 1, reader);
+            if (after != null) {
+                index = bindCursor(ps, index, after);
+            }
+            if (afterId > 0) {
+                ps.setInt(index++, afterId);
+            }
+            if (maxRows > 0) {
+                ps.setInt(index, maxRows);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Notification notification = mapMessage(rs, reader.userType(), reader.userId());
+                    notification.setRead(rs.getBoolean("is_read"));
+                    notifications.add(notification);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list notifications", e);
+        }
+        return notifications;
+    }
+
+    /**
+     * Every message expanded into one entry per direct recipient, plus one entry per
+     * audience whose user type is {@link #AUDIENCE_ALL_STAFF} or {@link #AUDIENCE_ADMINS}
+     * and whose user id is 0. Audience entries carry no read state and count as read.
+     */
+    @Override
+    public List<Notification> findAll() {
+        List<MessageRow> messages = queryMessages(null, 0, 0, 0);
+        return expand(messages, findReceipts(null));
+    }
+
+    /**
+     * Same shape as {@link #findAll()}, limited to messages with an id above {@code afterId}.
+     */
+    @Override
+    public List<Notification> findSince(int afterId) {
+        List<MessageRow> messages = queryMessages(null, afterId, 0, 0);
+        return expand(messages, findReceipts(ids(messages)));
+    }
+
+    /**
+     * Same shape as {@link #findAll()}, limited to templated messages about one reservation.
+     */
+    @Override
+    public List<Notification> findByReservation(int reservationId) {
+        List<MessageRow> messages = queryMessages(null, 0, reservationId, 0);
+        return expand(messages, findReceipts(ids(messages)));
+    }
+
+    /**
+     * Messages that still have an unread direct recipient.
+     */
+    @Override
+    public int countUnread() {
+        String sql = "SELECT COUNT(DISTINCT message_id) FROM notification_receipts WHERE is_read=FALSE";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to count unread notifications", e);
+        }
+    }
+
+    @Override
+    public Page<Notification> findPage(PageCursor after, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        Page<MessageRow> page = Page.of(queryMessages(after, 0, 0, limit + 1), limit, m -> new PageCursor(m.createdAt(), m.id()));
+        return new Page<>(expand(page.items(), findReceipts(ids(page.items()))), page.next());
+    }
+
+    private List<Integer> ids(List<MessageRow> messages) {
+        return messages.stream().map(MessageRow::id).collect(Collectors.toList());
+    }
+
+    private List<MessageRow> queryMessages(PageCursor after, int afterId, int reservationId, int maxRows) {
+        List<String> clauses = new ArrayList<>();
+        if (after != null) {
+            clauses.add(AFTER_CURSOR);
+        }
+        if (afterId > 0) {
+            clauses.add("m.message_id > ?");
+        }
+        if (reservationId > 0) {
+            clauses.add("m.reservation_id = ?");
+        }
+        String sql = "SELECT m.message_id, m.message, " + NotificationContentColumns.columns("m")
+                + ", m.created_at, m.to_all_staff, m.to_admins FROM notification_messages m"
+                + (clauses.isEmpty() ? "" : " WHERE " + String.join(" AND ", clauses))
+                + NEWEST_FIRST + (maxRows > 0 ? " LIMIT ?" : "");
+        List<MessageRow> messages = new ArrayList<>();
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = 1;
+            if (after != null) {
+                index = bindCursor(ps, index, after);
+            }
+            if (afterId > 0) {
+                ps.setInt(index++, afterId);
+            }
+            if (reservationId > 0) {
+                ps.setInt(index++, reservationId);
+            }
+            if (maxRows > 0) {
+                ps.setInt(index, maxRows);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    messages.add(new MessageRow(
+                            rs.getInt("message_id"),
+                            rs.getString("message"),
+                            NotificationContentColumns.read(rs),
+                            rs.getTimestamp("created_at").toInstant(),
+                            rs.getBoolean("to_all_staff"),
+                            rs.getBoolean("to_admins")));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list all notifications", e);
+        }
+        return messages;
+    }
+
+    /** Receipts grouped by message id; all receipts when {@code messageIds} is null. */
+    private Map<Integer, List<Notification>> findReceipts(List<Integer> messageIds) {
+        if (messageIds != null && messageIds.isEmpty()) {
+            return Map.of();
+        }
+        String sql = "SELECT message_id, user_type, user_id, is_read FROM notification_receipts";
+        if (messageIds != null) {
+            sql += " WHERE message_id IN (" + placeholders(messageIds.size()) + ")";
+        }
+        Map<Integer, List<Notification>> receipts = new HashMap<>();
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            if (messageIds != null) {
+                for (int i = 0; i < messageIds.size(); i++) {
+                    ps.setInt(i + 1, messageIds.get(i));
+                }
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Notification receipt = new Notification();
+                    receipt.setUserType(rs.getString("user_type"));
+                    receipt.setUserId(rs.getInt("user_id"));
+                    receipt.setRead(rs.getBoolean("is_read"));
+                    receipts.computeIfAbsent(rs.getInt("message_id"), k -> new ArrayList<>()).add(receipt);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list notification recipients", e);
+        }
+        return receipts;
+    }
+
+    private List<Notification> expand(List<MessageRow> messages, Map<Integer, List<Notification>> receipts) {
+        List<Notification> notifications = new ArrayList<>();
+        for (MessageRow m : messages) {
+            for (Notification receipt : receipts.getOrDefault(m.id(), List.of())) {
+                Notification notification = mapMessage(m, receipt.getUserType(), receipt.getUserId());
+                notification.setRead(receipt.isRead());
+                notifications.add(notification);
+            }
+            if (m.toAllStaff()) {
+                Notification audience = mapMessage(m, AUDIENCE_ALL_STAFF, 0);
+                audience.setRead(true);
+                notifications.add(audience);
+            }
+            if (m.toAdmins()) {
+                Notification audience = mapMessage(m, AUDIENCE_ADMINS, 0);
+                audience.setRead(true);
+                notifications.add(audience);
+            }
+        }
+        return notifications;
+    }
+
+    /**
+     * Archived notifications visible to the user, newest first. They are all read.
+     */
+    @Override
+    public Page<Notification> findArchivedPageForUser(NotificationReader reader, PageCursor after, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        String sql = ARCHIVED_FOR_USER + (after != null ? " AND " + AFTER_CURSOR : "") + NEWEST_FIRST + " LIMIT ?";
+        List<Notification> notifications = new ArrayList<>();
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, reader.userType());
+            ps.setInt(2, reader.userId());
+            int index = bindAudience(ps, 3, reader);
+            if (after != null) {
+                index = bindCursor(ps, index, after);
+            }
+            ps.setInt(index, limit + 1);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Notification notification = mapMessage(rs, reader.userType(), reader.userId());
+                    notification.setRead(true);
+                    notifications.add(notification);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list archived notifications", e);
+        }
+        return Page.of(notifications, limit, n -> new PageCursor(n.getCreatedAt(), n.getId()));
+    }
+
+    /**
+     * Moves up to {@code limit} messages created before {@code olderThan}, oldest first,
+     * into the archive tables together with their receipts. A message qualifies once every
+     * direct recipient has read it and so has every active staff member in its audience
+     * who had joined when it was sent, through a receipt or their watermark. The audience
+     * is taken from the staff table here, as one set-based check, rather than from the
+     * cached directory the readers use. Returns the number of messages moved.
+     */
+    @Override
+    public int archiveBatch(Instant olderThan, int limit) {
+        if (!TransactionTemplate.isActive()) {
+            throw new IllegalStateException("Archiving notifications requires an active transaction");
+        }
+        String select = """
+                SELECT m.message_id FROM notification_messages m
+                WHERE m.created_at < ?
+                  AND NOT EXISTS (
+                      SELECT 1 FROM notification_receipts r
+                      WHERE r.message_id = m.message_id AND r.is_read = FALSE
+                  )
+                  AND NOT EXISTS (
+                      SELECT 1 FROM staff s
+                      LEFT JOIN notification_receipts a
+                             ON a.message_id = m.message_id AND a.user_type = 'staff' AND a.user_id = s.staff_id
+                      LEFT JOIN notification_read_marks w ON w.user_type = 'staff' AND w.user_id = s.staff_id
+                      WHERE (m.to_all_staff OR (m.to_admins AND s.role = 'admin'))
+                        AND s.is_active
+                        AND (s.created_at IS NULL OR s.created_at <= m.created_at)
+                        AND NOT COALESCE(a.is_read, m.message_id <= COALESCE(w.read_up_to, 0))
+                  )
+                ORDER BY m.created_at, m.message_id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+                """;
+        try (Connection connection = database.getConnection()) {
+            List<Integer> ids = new ArrayList<>();
+            try (PreparedStatement ps = connection.prepareStatement(select)) {
+                ps.setTimestamp(1, Timestamp.from(olderThan));
+                ps.setInt(2, limit);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getInt(1));
+                    }
+                }
+            }
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            String in = " WHERE message_id IN (" + placeholders(ids.size()) + ")";
+            executeForIds(connection, """
+                    INSERT INTO notification_messages_archive (message_id, message, to_all_staff, to_admins, created_at,
+                        template, reservation_id, room_id, actor_id, start_date, end_date)
+                    SELECT message_id, message, to_all_staff, to_admins, created_at,
+                        template, reservation_id, room_id, actor_id, start_date, end_date
+                    FROM notification_messages""" + in, ids);
+            executeForIds(connection, """
+                    INSERT INTO notification_receipts_archive (message_id, user_type, user_id, is_read)
+                    SELECT message_id, user_type, user_id, is_read FROM notification_receipts""" + in, ids);
+            executeForIds(connection, "DELETE FROM notification_receipts" + in, ids);
+            executeForIds(connection, "DELETE FROM notification_messages" + in, ids);
+            return ids.size();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to archive notifications", e);
+        }
+    }
+
+    private void executeForIds(Connection connection, String sql, List<Integer> ids) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < ids.size(); i++) {
+                ps.setInt(i + 1, ids.get(i));
+            }
+            ps.executeUpdate();
+        }
+    }
+
+    private String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * Marks the message read for one reader. Audience members get their receipt row here.
+     */
+    @Override
+    public void markAsRead(NotificationReader reader, int messageId) {
+        String update = "UPDATE notification_receipts SET is_read=TRUE WHERE message_id=? AND user_type=? AND user_id=?";
+        String insert = """
+                INSERT IGNORE INTO notification_receipts (message_id, user_type, user_id, is_read)
+                SELECT message_id, ?, ?, TRUE FROM notification_messages
+                WHERE message_id=? AND ((to_all_staff AND ?) OR (to_admins AND ?)) AND created_at >= ?
+                """;
+        try (Connection connection = database.getConnection()) {
+            try (PreparedStatement ps = connection.prepareStatement(update)) {
+                ps.setInt(1, messageId);
+                ps.setString(2, reader.userType());
+                ps.setInt(3, reader.userId());
+                if (ps.executeUpdate() > 0) {
+                    return;
+                }
+            }
+            try (PreparedStatement ps = connection.prepareStatement(insert)) {
+                ps.setString(1, reader.userType());
+                ps.setInt(2, reader.userId());
+                ps.setInt(3, messageId);
+                bindAudience(ps, 4, reader);
+                ps.executeUpdate();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to mark notification as read", e);
+        }
+    }
+
+    /**
+     * Batched form of {@link #markAsRead(NotificationReader, int)}: one batch of receipt updates,
+     * then one batch of audience receipts for the messages that had no receipt to update.
+     */
+    @Override
+    public void markAsRead(NotificationReader reader, Collection<Integer> messageIds) {
+        if (messageIds.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = new ArrayList<>(messageIds);
+        String update = "UPDATE notification_receipts SET is_read=TRUE WHERE message_id=? AND user_type=? AND user_id=?";
+        String insert = """
+                INSERT IGNORE INTO notification_receipts (message_id, user_type, user_id, is_read)
+                SELECT message_id, ?, ?, TRUE FROM notification_messages
+                WHERE message_id=? AND ((to_all_staff AND ?) OR (to_admins AND ?)) AND created_at >= ?
+                """;
+        try (Connection connection = database.getConnection()) {
+            List<Integer> withoutReceipt = new ArrayList<>();
+            try (PreparedStatement ps = connection.prepareStatement(update)) {
+                for (int id : ids) {
+                    ps.setInt(1, id);
+                    ps.setString(2, reader.userType());
+                    ps.setInt(3, reader.userId());
+                    ps.addBatch();
+                }
+                int[] counts = ps.executeBatch();
+                for (int i = 0; i < counts.length; i++) {
+                    // SUCCESS_NO_INFO is retried too; the insert ignores existing receipts.
+                    if (counts[i] <= 0) {
+                        withoutReceipt.add(ids.get(i));
+                    }
+                }
+            }
+            if (withoutReceipt.isEmpty()) {
+                return;
+            }
+            try (PreparedStatement ps = connection.prepareStatement(insert)) {
+                for (int id : withoutReceipt) {
+                    ps.setString(1, reader.userType());
+                    ps.setInt(2, reader.userId());
+                    ps.setInt(3, id);
+                    bindAudience(ps, 4, reader);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to mark notifications as read", e);
+        }
+    }
+
+    /**
+     * Marks the messages read for all of their direct recipients in one statement.
+     */
+    @Override
+    public void markAsRead(Collection<Integer> messageIds) {
+        if (messageIds.isEmpty()) {
+            return;
+        }
+        String sql = "UPDATE notification_receipts SET is_read=TRUE WHERE message_id IN (" + placeholders(messageIds.size()) + ")";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (int id : messageIds) {
+                ps.setInt(index++, id);
+            }
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to mark notifications as read", e);
+        }
+    }
+
+    /**
+     * Marks the message read for all of its direct recipients.
+     */
+    @Override
+    public void markAsRead(int messageId) {
+        String sql = "UPDATE notification_receipts SET is_read=TRUE WHERE message_id=?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, messageId);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to mark notification as read", e);
+        }
+    }
+
+    /**
+     * Marks the reader's receipts up to the newest message read and moves their watermark
+     * there, so audience messages without a receipt count as read too.
+     */
+    @Override
+    public void markAllAsRead(NotificationReader reader) {
+        String receipts = "UPDATE notification_receipts SET is_read=TRUE WHERE user_type=? AND user_id=? AND message_id<=? AND is_read=FALSE";
+        String mark = """
+                INSERT INTO notification_read_marks (user_type, user_id, read_up_to) VALUES (?, ?, ?)
+                ON DUPLICATE KEY UPDATE read_up_to = GREATEST(read_up_to, VALUES(read_up_to))
+                """;
+        try (Connection connection = database.getConnection()) {
+            int newest;
+            try (PreparedStatement ps = connection.prepareStatement("SELECT COALESCE(MAX(message_id), 0) FROM notification_messages");
+                 ResultSet rs = ps.executeQuery()) {
+                newest = rs.next() ? rs.getInt(1) : 0;
+            }
+            try (PreparedStatement ps = connection.prepareStatement(receipts)) {
+                ps.setString(1, reader.userType());
+                ps.setInt(2, reader.userId());
+                ps.setInt(3, newest);
+                ps.executeUpdate();
+            }
+            try (PreparedStatement ps = connection.prepareStatement(mark)) {
+                ps.setString(1, reader.userType());
+                ps.setInt(2, reader.userId());
+                ps.setInt(3, newest);
+                ps.executeUpdate();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to mark notifications as read", e);
+        }
+    }
+
+    /**
+     * Marks every receipt read. Audience messages have no read state in the overview, and
+     * each reader's watermark is left as it is.
+     */
+    @Override
+    public void markAllAsRead() {
+        String sql = "UPDATE notification_receipts SET is_read=TRUE WHERE is_read=FALSE";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to mark all notifications as read", e);
+        }
+    }
+
+    private int bindReader(PreparedStatement ps, int index, NotificationReader reader) throws SQLException {
+        ps.setString(index++, reader.userType());
+        ps.setInt(index++, reader.userId());
+        ps.setString(index++, reader.userType());
+        ps.setInt(index++, reader.userId());
+        return bindAudience(ps, index, reader);
+    }
+
+    /**
+     * Binds whether the reader belongs to the all-staff and the admin audience, and the
+     * time from which audience messages reach them.
+     */
+    private int bindAudience(PreparedStatement ps, int index, NotificationReader reader) throws SQLException {
+        ps.setBoolean(index++, reader.isStaff());
+        ps.setBoolean(index++, reader.admin());
+        ps.setTimestamp(index++, Timestamp.from(reader.audienceSince()));
+        return index;
+    }
+
+    private int bindCursor(PreparedStatement ps, int index, PageCursor after) throws SQLException {
+        Timestamp createdAt = Timestamp.from(after.createdAt());
+        ps.setTimestamp(index++, createdAt);
+        ps.setTimestamp(index++, createdAt);
+        ps.setInt(index++, after.id());
+        return index;
+    }
+
+    private Notification mapMessage(ResultSet rs, String userType, int userId) throws SQLException {
+        return mapMessage(rs.getInt("message_id"), rs.getString("message"), NotificationContentColumns.read(rs),
+                rs.getTimestamp("created_at").toInstant(), userType, userId);
+    }
+
+    private Notification mapMessage(MessageRow m, String userType, int userId) {
+        return mapMessage(m.id(), m.message(), m.content(), m.createdAt(), userType, userId);
+    }
+
+    private Notification mapMessage(int messageId, String message, NotificationContent content, Instant createdAt,
+                                    String userType, int userId) {
+        Notification notification = new Notification();
+        notification.setId(messageId);
+        notification.setUserType(userType);
+        notification.setUserId(userId);
+        notification.setMessage(message);
+        notification.setContent(content);
+        notification.setCreatedAt(createdAt);
+        return notification;
+    }
+
+    private record MessageRow(int id, String message, NotificationContent content, Instant createdAt,
+                              boolean toAllStaff, boolean toAdmins) {
+    }
+}
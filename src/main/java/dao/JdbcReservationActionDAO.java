@@ -0,0 +1,47 @@
+package dao;
+
+import database.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+public class JdbcReservationActionDAO implements ReservationActionDAO {
+    private final DatabaseConnection database;
+
+    public JdbcReservationActionDAO(DatabaseConnection database) {
+        this.database = database;
+    }
+
+    @Override
+    public void logCheckIn(int reservationId, int staffId) {
+        log(reservationId, staffId, "check_in");
+    }
+
+    @Override
+    public void logCheckOut(int reservationId, int staffId) {
+        log(reservationId, staffId, "check_out");
+    }
+
+    @Override
+    public void logCancel(int reservationId, Integer staffId) {
+        log(reservationId, staffId, "cancel");
+    }
+
+    private void log(int reservationId, Integer staffId, String type) {
+        String sql = "INSERT INTO reservation_actions (reservation_id, staff_id, action_type) VALUES (?,?,?)";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, reservationId);
+            if (staffId == null || staffId <= 0) {
+                ps.setNull(2, java.sql.Types.INTEGER);
+            } else {
+                ps.setInt(2, staffId);
+            }
+            ps.setString(3, type);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to log reservation action", e);
+        }
+    }
+}
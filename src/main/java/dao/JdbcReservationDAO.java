@@ -0,0 +1,428 @@
+package dao;
+
+import database.DatabaseConnection;
+import factory.ReservationStateFactory;
+import factory.RoomFactory;
+import model.Page;
+import model.PageCursor;
+import model.reservation.Reservation;
+import model.reservation.ReservationSummary;
+import model.room.Room;
+import model.user.Customer;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class JdbcReservationDAO implements ReservationDAO {
+
+    private final DatabaseConnection database;
+
+    // Reservations are always loaded together with their customer and room in one statement.
+    private static final String SELECT_WITH_DETAILS = """
+            SELECT res.reservation_id, res.customer_id, res.room_id, res.start_date, res.end_date,
+                   res.total_price, res.payment_status, res.status, res.created_at,
+                   c.customer_id AS c_customer_id, c.username AS c_username, c.first_name AS c_first_name,
+                   c.last_name AS c_last_name, c.email AS c_email, c.phone AS c_phone,
+                   c.national_id AS c_national_id, c.is_active AS c_is_active,
+                   r.room_id AS r_room_id, r.room_number AS r_room_number, r.room_type AS r_room_type,
+                   r.capacity AS r_capacity, r.price_per_night AS r_price_per_night, r.status AS r_status
+            FROM reservations res
+            LEFT JOIN customers c ON c.customer_id = res.customer_id
+            LEFT JOIN rooms r ON r.room_id = res.room_id
+            """;
+
+    // List screens only need these columns; see ReservationSummary.
+    private static final String SELECT_SUMMARY = """
+            SELECT res.reservation_id, res.customer_id, res.start_date, res.end_date, res.total_price,
+                   res.payment_status, res.status, res.created_at,
+                   c.first_name AS c_first_name, c.last_name AS c_last_name,
+                   r.room_number AS r_room_number, r.room_type AS r_room_type
+            FROM reservations res
+            LEFT JOIN customers c ON c.customer_id = res.customer_id
+            LEFT JOIN rooms r ON r.room_id = res.room_id
+            """;
+
+    private static final String BY_CUSTOMER = "WHERE res.customer_id = ? ORDER BY res.created_at DESC";
+    private static final String HISTORY_BY_CUSTOMER = """
+            WHERE res.customer_id = ?
+              AND (res.status IN ('completed','canceled') OR res.end_date < CURRENT_DATE)
+            ORDER BY res.end_date DESC
+            """;
+
+    public JdbcReservationDAO(DatabaseConnection database) {
+        this.database = database;
+    }
+
+    @Override
+    public int create(Reservation reservation) {
+        String sql = "INSERT INTO reservations (customer_id, room_id, start_date, end_date, total_price, payment_status, status) VALUES (?,?,?,?,?,?,?)";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            ps.setInt(1, reservation.getCustomer().getId());
+            ps.setInt(2, reservation.getRoom().getId());
+            ps.setDate(3, Date.valueOf(reservation.getStartDate()));
+            ps.setDate(4, Date.valueOf(reservation.getEndDate()));
+            ps.setDouble(5, reservation.getTotalPrice());
+            ps.setString(6, reservation.getPaymentStatus());
+            ps.setString(7, reservation.getCurrentState().getName());
+            ps.executeUpdate();
+            try (ResultSet rs = ps.getGeneratedKeys()) {
+                if (rs.next()) {
+                    int id = rs.getInt(1);
+                    reservation.setReservationId(id);
+                    return id;
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to create reservation", e);
+        }
+        return -1;
+    }
+
+    @Override
+    public Reservation findById(int id) {
+        String sql = SELECT_WITH_DETAILS + "WHERE res.reservation_id = ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return mapRow(rs);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find reservation", e);
+        }
+        return null;
+    }
+
+    @Override
+    public ReservationSummary findSummaryById(int id) {
+        String sql = SELECT_SUMMARY + "WHERE res.reservation_id = ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return mapSummary(rs);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find reservation", e);
+        }
+        return null;
+    }
+
+    /**
+     * Summaries of the given reservations keyed by id, loaded with one query; ids that no
+     * longer exist are missing from the map.
+     */
+    @Override
+    public Map<Integer, ReservationSummary> findSummariesByIds(Collection<Integer> ids) {
+        Map<Integer, ReservationSummary> summaries = new HashMap<>();
+        if (ids.isEmpty()) {
+            return summaries;
+        }
+        String sql = SELECT_SUMMARY + "WHERE res.reservation_id IN (" + String.join(",", Collections.nCopies(ids.size(), "?")) + ")";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (int id : ids) {
+                ps.setInt(index++, id);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ReservationSummary summary = mapSummary(rs);
+                    summaries.put(summary.reservationId(), summary);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load reservations", e);
+        }
+        return summaries;
+    }
+
+    @Override
+    public List<Reservation> findByCustomer(int customerId) {
+        return queryForCustomer(SELECT_WITH_DETAILS + BY_CUSTOMER, customerId, this::mapRow, "Failed to list reservations for customer");
+    }
+
+    @Override
+    public List<Reservation> findHistoryByCustomer(int customerId) {
+        return queryForCustomer(SELECT_WITH_DETAILS + HISTORY_BY_CUSTOMER, customerId, this::mapRow, "Failed to list reservation history");
+    }
+
+    @Override
+    public List<ReservationSummary> findSummariesByCustomer(int customerId) {
+        return queryForCustomer(SELECT_SUMMARY + BY_CUSTOMER, customerId, this::mapSummary, "Failed to list reservations for customer");
+    }
+
+    @Override
+    public List<ReservationSummary> findSummaryHistoryByCustomer(int customerId) {
+        return queryForCustomer(SELECT_SUMMARY + HISTORY_BY_CUSTOMER, customerId, this::mapSummary, "Failed to list reservation history");
+    }
+
+    private <T> List<T> queryForCustomer(String sql, int customerId, RowMapper<T> mapper, String error) {
+        List<T> rows = new ArrayList<>();
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, customerId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapper.map(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(error, e);
+        }
+        return rows;
+    }
+
+    @Override
+    public List<Reservation> findAll() {
+        List<Reservation> reservations = new ArrayList<>();
+        String sql = SELECT_WITH_DETAILS + "ORDER BY res.created_at DESC";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                reservations.add(mapRow(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list reservations", e);
+        }
+        return reservations;
+    }
+
+    @Override
+    public void updateStatus(int reservationId, String status) {
+        String sql = "UPDATE reservations SET status=? WHERE reservation_id=?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, status);
+            ps.setInt(2, reservationId);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to update reservation status", e);
+        }
+    }
+
+    @Override
+    public void cancel(int reservationId) {
+        updateStatus(reservationId, "canceled");
+    }
+
+    @Override
+    public Page<Reservation> findPage(PageCursor after, int limit) {
+        return findPageByFilters(null, null, null, null, after, limit);
+    }
+
+    @Override
+    public Page<Reservation> findPageByFilters(String customerFilter, String roomFilter, LocalDate startDate, LocalDate endDate, PageCursor after, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        List<Reservation> rows = queryByFilters(SELECT_WITH_DETAILS, this::mapRow, customerFilter, roomFilter, startDate, endDate, after, limit + 1);
+        return Page.of(rows, limit, r -> new PageCursor(r.getCreatedAt(), r.getReservationId()));
+    }
+
+    @Override
+    public Page<ReservationSummary> findSummaryPageByFilters(String customerFilter, String roomFilter, LocalDate startDate, LocalDate endDate, PageCursor after, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        List<ReservationSummary> rows = queryByFilters(SELECT_SUMMARY, this::mapSummary, customerFilter, roomFilter, startDate, endDate, after, limit + 1);
+        return Page.of(rows, limit, r -> new PageCursor(r.createdAt(), r.reservationId()));
+    }
+
+    @Override
+    public List<Reservation> findByFilters(String customerFilter, String roomFilter, java.time.LocalDate startDate, java.time.LocalDate endDate) {
+        return queryByFilters(SELECT_WITH_DETAILS, this::mapRow, customerFilter, roomFilter, startDate, endDate, null, 0);
+    }
+
+    private <T> List<T> queryByFilters(String select, RowMapper<T> mapper, String customerFilter, String roomFilter, LocalDate startDate, LocalDate endDate, PageCursor after, int limit) {
+        List<T> reservations = new ArrayList<>();
+        List<String> clauses = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        if (customerFilter != null && !customerFilter.isBlank()) {
+            clauses.add("(c.first_name LIKE ? OR c.last_name LIKE ? OR c.email LIKE ? OR c.national_id LIKE ? OR c.username LIKE ?)");
+            String like = "%" + customerFilter + "%";
+            params.add(like);
+            params.add(like);
+            params.add(like);
+            params.add(like);
+            params.add(like);
+        }
+        if (roomFilter != null && !roomFilter.isBlank()) {
+            clauses.add("(r.room_number LIKE ? OR r.room_type LIKE ?)");
+            String like = "%" + roomFilter + "%";
+            params.add(like);
+            params.add(like);
+        }
+        if (startDate != null && endDate != null) {
+            clauses.add("NOT (res.end_date < ? OR res.start_date > ?)");
+            params.add(java.sql.Date.valueOf(startDate));
+            params.add(java.sql.Date.valueOf(endDate));
+        } else if (startDate != null) {
+            clauses.add("res.end_date >= ?");
+            params.add(java.sql.Date.valueOf(startDate));
+        } else if (endDate != null) {
+            clauses.add("res.start_date <= ?");
+            params.add(java.sql.Date.valueOf(endDate));
+        }
+        if (after != null) {
+            clauses.add("(res.created_at < ? OR (res.created_at = ? AND res.reservation_id < ?))");
+            Timestamp createdAt = Timestamp.from(after.createdAt());
+            params.add(createdAt);
+            params.add(createdAt);
+            params.add(after.id());
+        }
+        StringBuilder sql = new StringBuilder(select);
+        if (!clauses.isEmpty()) {
+            sql.append("WHERE ").append(String.join(" AND ", clauses));
+        }
+        sql.append(" ORDER BY res.created_at DESC, res.reservation_id DESC");
+        if (limit > 0) {
+            sql.append(" LIMIT ?");
+            params.add(limit);
+        }
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                Object p = params.get(i);
+                if (p instanceof String s) {
+                    ps.setString(i + 1, s);
+                } else if (p instanceof java.sql.Date d) {
+                    ps.setDate(i + 1, d);
+                } else if (p instanceof Timestamp t) {
+                    ps.setTimestamp(i + 1, t);
+                } else if (p instanceof Integer n) {
+                    ps.setInt(i + 1, n);
+                }
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    reservations.add(mapper.map(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to filter reservations", e);
+        }
+        return reservations;
+    }
+
+    private Reservation mapRow(ResultSet rs) throws SQLException {
+        Reservation reservation = new Reservation();
+        reservation.setReservationId(rs.getInt("reservation_id"));
+
+        reservation.setCustomer(mapCustomer(rs));
+        reservation.setRoom(mapRoom(rs));
+
+        LocalDate startDate = rs.getDate("start_date").toLocalDate();
+        LocalDate endDate = rs.getDate("end_date").toLocalDate();
+        reservation.setStartDate(startDate);
+        reservation.setEndDate(endDate);
+        reservation.setTotalPrice(rs.getDouble("total_price"));
+        reservation.setPaymentStatus(rs.getString("payment_status"));
+        reservation.setState(ReservationStateFactory.fromStatus(rs.getString("status")));
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        reservation.setCreatedAt(createdAt == null ? null : createdAt.toInstant());
+        return reservation;
+    }
+
+    private ReservationSummary mapSummary(ResultSet rs) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new ReservationSummary(
+                rs.getInt("reservation_id"),
+                rs.getInt("customer_id"),
+                rs.getString("c_first_name") + " " + rs.getString("c_last_name"),
+                rs.getString("r_room_number"),
+                rs.getString("r_room_type"),
+                rs.getDate("start_date").toLocalDate(),
+                rs.getDate("end_date").toLocalDate(),
+                rs.getString("status"),
+                rs.getString("payment_status"),
+                rs.getDouble("total_price"),
+                createdAt == null ? null : createdAt.toInstant()
+        );
+    }
+
+    private Customer mapCustomer(ResultSet rs) throws SQLException {
+        int customerId = rs.getInt("c_customer_id");
+        if (rs.wasNull()) {
+            return null;
+        }
+        Customer customer = new Customer();
+        customer.setId(customerId);
+        customer.setUsername(rs.getString("c_username"));
+        customer.setFirstName(rs.getString("c_first_name"));
+        customer.setLastName(rs.getString("c_last_name"));
+        customer.setEmail(rs.getString("c_email"));
+        customer.setPhone(rs.getString("c_phone"));
+        customer.setNationalId(rs.getString("c_national_id"));
+        customer.setActive(rs.getBoolean("c_is_active"));
+        return customer;
+    }
+
+    private Room mapRoom(ResultSet rs) throws SQLException {
+        int roomId = rs.getInt("r_room_id");
+        if (rs.wasNull()) {
+            return null;
+        }
+        Room room = RoomFactory.createRoom(rs.getString("r_room_type"));
+        room.setId(roomId);
+        room.setRoomNumber(rs.getString("r_room_number"));
+        room.setCapacity(rs.getInt("r_capacity"));
+        room.setPricePerNight(rs.getDouble("r_price_per_night"));
+        room.setStatus(rs.getString("r_status"));
+        return room;
+    }
+
+    @Override
+    public void updatePaymentStatus(int reservationId, String paymentStatus) {
+        String sql = "UPDATE reservations SET payment_status=? WHERE reservation_id=?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, paymentStatus);
+            ps.setInt(2, reservationId);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to update payment status", e);
+        }
+    }
+
+    @Override
+    public Reservation findFirstOverlapForRoom(int roomId, LocalDate startDate, LocalDate endDate) {
+        String sql = SELECT_WITH_DETAILS + """
+                WHERE res.room_id = ?
+                  AND res.status NOT IN ('canceled')
+                  AND NOT (res.end_date <= ? OR res.start_date >= ?)
+                ORDER BY res.start_date
+                LIMIT 1
+                """;
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, roomId);
+            ps.setDate(2, Date.valueOf(startDate));
+            ps.setDate(3, Date.valueOf(endDate));
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return mapRow(rs);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to check room availability overlap", e);
+        }
+        return null;
+    }
+
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+}
@@ -0,0 +1,258 @@
+package dao;
+
+import database.DatabaseConnection;
+import database.TransactionTemplate;
+import factory.ReservationStateFactory;
+import factory.RoomFactory;
+import model.reservation.Reservation;
+import model.room.Room;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.time.LocalDate;
+
+public class JdbcRoomDAO implements RoomDAO {
+
+    private final DatabaseConnection database;
+
+    public JdbcRoomDAO(DatabaseConnection database) {
+        this.database = database;
+    }
+
+    private final RoomCache cache = RoomCache.getInstance();
+
+    @Override
+    public int create(Room room) {
+        String sql = "INSERT INTO rooms (room_number, room_type, capacity, price_per_night, status) VALUES (?,?,?,?,?)";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            ps.setString(1, room.getRoomNumber());
+            ps.setString(2, room.getType());
+            ps.setInt(3, room.getCapacity());
+            ps.setDouble(4, room.getPricePerNight());
+            ps.setString(5, room.getStatus() == null ? "available" : room.getStatus());
+            ps.executeUpdate();
+            try (ResultSet rs = ps.getGeneratedKeys()) {
+                if (rs.next()) {
+                    int id = rs.getInt(1);
+                    room.setId(id);
+                    cache.invalidate(id);
+                    return id;
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to create room", e);
+        }
+        return -1;
+    }
+
+    @Override
+    public Room findById(int id) {
+        return cache.get(id, this::loadById);
+    }
+
+    private Room loadById(int id) {
+        String sql = "SELECT * FROM rooms WHERE room_id=?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return mapRow(rs);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find room", e);
+        }
+        return null;
+    }
+
+    @Override
+    public List<Room> findAll() {
+        return cache.all(this::loadAll);
+    }
+
+    private List<Room> loadAll() {
+        List<Room> rooms = new ArrayList<>();
+        String sql = "SELECT * FROM rooms";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                rooms.add(mapRow(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list rooms", e);
+        }
+        return rooms;
+    }
+
+    @Override
+    public List<Room> searchAllByTypeAndCapacity(String type, int capacity) {
+        List<Room> rooms = new ArrayList<>();
+        String sql = "SELECT * FROM rooms WHERE room_type=? AND capacity>=?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, type);
+            ps.setInt(2, capacity);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rooms.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to search rooms by type and capacity", e);
+        }
+        return rooms;
+    }
+
+    /**
+     * Rooms of the given type and minimum capacity, each mapped to the earliest-starting
+     * non-canceled reservation overlapping {@code [startDate, endDate)} or to null, in a
+     * single statement. The reservation only carries its id, dates, state and room.
+     */
+    @Override
+    public Map<Room, Reservation> searchWithFirstOverlap(String type, int capacity, LocalDate startDate, LocalDate endDate) {
+        Map<Room, Reservation> rooms = new LinkedHashMap<>();
+        String sql = """
+                SELECT r.*, o.reservation_id AS o_reservation_id, o.start_date AS o_start_date,
+                       o.end_date AS o_end_date, o.status AS o_status
+                FROM rooms r
+                LEFT JOIN reservations o ON o.reservation_id = (
+                    SELECT res.reservation_id FROM reservations res
+                    WHERE res.room_id = r.room_id
+                      AND res.status NOT IN ('canceled')
+                      AND NOT (res.end_date <= ? OR res.start_date >= ?)
+                    ORDER BY res.start_date, res.reservation_id
+                    LIMIT 1
+                )
+                WHERE r.room_type=? AND r.capacity>=?
+                """;
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setDate(1, Date.valueOf(startDate));
+            ps.setDate(2, Date.valueOf(endDate));
+            ps.setString(3, type);
+            ps.setInt(4, capacity);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Room room = mapRow(rs);
+                    rooms.put(room, mapOverlap(rs, room));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to search rooms with availability", e);
+        }
+        return rooms;
+    }
+
+    @Override
+    public List<Room> search(String type, int capacity, LocalDate startDate, LocalDate endDate) {
+        List<Room> rooms = new ArrayList<>();
+        String sql = """
+                SELECT * FROM rooms r
+                WHERE r.room_type=? AND r.capacity>=? AND r.status IN ('available','reserved')
+                AND NOT EXISTS (
+                    SELECT 1 FROM reservations res
+                    WHERE res.room_id = r.room_id
+                      AND res.status NOT IN ('canceled')
+                      AND NOT (res.end_date <= ? OR res.start_date >= ?)
+                )
+                """;
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, type);
+            ps.setInt(2, capacity);
+            ps.setDate(3, Date.valueOf(startDate));
+            ps.setDate(4, Date.valueOf(endDate));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rooms.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to search rooms", e);
+        }
+        return rooms;
+    }
+
+    /**
+     * Takes a row lock on the room until the surrounding transaction ends, so bookings
+     * for the same room serialize in the database while other rooms stay unaffected.
+     */
+    @Override
+    public boolean lockForUpdate(int roomId) {
+        if (!TransactionTemplate.isActive()) {
+            throw new IllegalStateException("Locking a room requires an active transaction");
+        }
+        String sql = "SELECT room_id FROM rooms WHERE room_id=? FOR UPDATE";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, roomId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to lock room", e);
+        }
+    }
+
+    @Override
+    public void update(Room room) {
+        String sql = "UPDATE rooms SET room_number=?, room_type=?, capacity=?, price_per_night=?, status=? WHERE room_id=?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, room.getRoomNumber());
+            ps.setString(2, room.getType());
+            ps.setInt(3, room.getCapacity());
+            ps.setDouble(4, room.getPricePerNight());
+            ps.setString(5, room.getStatus());
+            ps.setInt(6, room.getId());
+            ps.executeUpdate();
+            cache.invalidate(room.getId());
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to update room", e);
+        }
+    }
+
+    @Override
+    public void updateStatus(int roomId, String status) {
+        String sql = "UPDATE rooms SET status=? WHERE room_id=?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, status);
+            ps.setInt(2, roomId);
+            ps.executeUpdate();
+            cache.invalidate(roomId);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to update room status", e);
+        }
+    }
+
+    private Room mapRow(ResultSet rs) throws SQLException {
+        Room room = RoomFactory.createRoom(rs.getString("room_type"));
+        room.setId(rs.getInt("room_id"));
+        room.setRoomNumber(rs.getString("room_number"));
+        room.setCapacity(rs.getInt("capacity"));
+        room.setPricePerNight(rs.getDouble("price_per_night"));
+        room.setStatus(rs.getString("status"));
+        return room;
+    }
+
+    private Reservation mapOverlap(ResultSet rs, Room room) throws SQLException {
+        int reservationId = rs.getInt("o_reservation_id");
+        if (rs.wasNull()) {
+            return null;
+        }
+        Reservation reservation = new Reservation();
+        reservation.setReservationId(reservationId);
+        reservation.setRoom(room);
+        reservation.setStartDate(rs.getDate("o_start_date").toLocalDate());
+        reservation.setEndDate(rs.getDate("o_end_date").toLocalDate());
+        reservation.setState(ReservationStateFactory.fromStatus(rs.getString("o_status")));
+        return reservation;
+    }
+}
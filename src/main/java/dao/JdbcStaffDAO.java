@@ -0,0 +1,285 @@
+package dao;
+
+import database.DatabaseConnection;
+import model.Page;
+import model.PageCursor;
+import model.user.Staff;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class JdbcStaffDAO implements StaffDAO {
+
+    private static final IdentifierResolver IDENTIFIERS = new IdentifierResolver(1024);
+    private static final UniqueValueFilter UNIQUE_VALUES = new UniqueValueFilter("staff");
+
+    private final DatabaseConnection database;
+
+    public JdbcStaffDAO(DatabaseConnection database) {
+        this.database = database;
+    }
+
+    @Override
+    public int create(Staff staff) {
+        String sql = "INSERT INTO staff (username, first_name, last_name, email, national_id, password_hash, role, is_active) VALUES (?,?,?,?,?,?,?,?)";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            ps.setString(1, staff.getUsername());
+            ps.setString(2, staff.getFirstName());
+            ps.setString(3, staff.getLastName());
+            ps.setString(4, staff.getEmail());
+            ps.setString(5, staff.getNationalId());
+            ps.setString(6, staff.getPasswordHash());
+            ps.setString(7, staff.getRole());
+            ps.setBoolean(8, staff.isActive());
+            ps.executeUpdate();
+            UNIQUE_VALUES.add(staff.getUsername(), staff.getEmail(), staff.getNationalId());
+            try (ResultSet rs = ps.getGeneratedKeys()) {
+                if (rs.next()) {
+                    int id = rs.getInt(1);
+                    staff.setId(id);
+                    return id;
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to create staff", e);
+        }
+        return -1;
+    }
+
+    @Override
+    public Staff findById(int id) {
+        String sql = "SELECT * FROM staff WHERE staff_id=?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return mapRow(rs);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find staff", e);
+        }
+        return null;
+    }
+
+    @Override
+    public Staff findByEmail(String email) {
+        String sql = "SELECT * FROM staff WHERE email=?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, email);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return mapRow(rs);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find staff by email", e);
+        }
+        return null;
+    }
+
+    @Override
+    public Staff findByIdentifier(String identifier) {
+        if (identifier == null) {
+            return null;
+        }
+        Integer cachedId = IDENTIFIERS.cachedId(identifier);
+        if (cachedId != null) {
+            Staff cached = findById(cachedId);
+            if (cached != null && IdentifierResolver.matches(identifier, cached.getUsername(), cached.getEmail(), cached.getNationalId())) {
+                return cached;
+            }
+            IDENTIFIERS.forget(identifier);
+        }
+        IdentifierResolver.Column column = IdentifierResolver.classify(identifier);
+        Staff found = findByColumn(column, identifier);
+        if (found == null && column != IdentifierResolver.Column.USERNAME) {
+            found = findByColumn(IdentifierResolver.Column.USERNAME, identifier);
+        }
+        if (found != null) {
+            IDENTIFIERS.remember(identifier, found.getId());
+        }
+        return found;
+    }
+
+    private Staff findByColumn(IdentifierResolver.Column column, String value) {
+        String sql = "SELECT * FROM staff WHERE " + column.sqlName() + " = ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, value);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return mapRow(rs);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find staff by identifier", e);
+        }
+        return null;
+    }
+
+    @Override
+    public List<Staff> findAll() {
+        List<Staff> staffList = new ArrayList<>();
+        String sql = "SELECT * FROM staff";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                staffList.add(mapRow(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list staff", e);
+        }
+        return staffList;
+    }
+
+    @Override
+    public Page<Staff> findPage(PageCursor after, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        List<Staff> staffList = new ArrayList<>();
+        String sql = after == null
+                ? "SELECT * FROM staff ORDER BY created_at DESC, staff_id DESC LIMIT ?"
+                : "SELECT * FROM staff WHERE created_at < ? OR (created_at = ? AND staff_id < ?) ORDER BY created_at DESC, staff_id DESC LIMIT ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = 1;
+            if (after != null) {
+                Timestamp createdAt = Timestamp.from(after.createdAt());
+                ps.setTimestamp(index++, createdAt);
+                ps.setTimestamp(index++, createdAt);
+                ps.setInt(index++, after.id());
+            }
+            ps.setInt(index, limit + 1);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    staffList.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list staff page", e);
+        }
+        return Page.of(staffList, limit, u -> new PageCursor(u.getCreatedAt(), u.getId()));
+    }
+
+    @Override
+    public List<Staff> search(String term) {
+        List<Staff> staffList = new ArrayList<>();
+        String like = "%" + term + "%";
+        String sql = """
+                SELECT * FROM staff
+                WHERE first_name LIKE ? OR last_name LIKE ? OR email LIKE ? OR username LIKE ? OR national_id LIKE ?
+                """;
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, like);
+            ps.setString(2, like);
+            ps.setString(3, like);
+            ps.setString(4, like);
+            ps.setString(5, like);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    staffList.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to search staff", e);
+        }
+        return staffList;
+    }
+
+    @Override
+    public void update(Staff staff) {
+        String sql = "UPDATE staff SET username=?, first_name=?, last_name=?, email=?, national_id=?, password_hash=?, role=?, is_active=? WHERE staff_id=?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, staff.getUsername());
+            ps.setString(2, staff.getFirstName());
+            ps.setString(3, staff.getLastName());
+            ps.setString(4, staff.getEmail());
+            ps.setString(5, staff.getNationalId());
+            ps.setString(6, staff.getPasswordHash());
+            ps.setString(7, staff.getRole());
+            ps.setBoolean(8, staff.isActive());
+            ps.setInt(9, staff.getId());
+            ps.executeUpdate();
+            UNIQUE_VALUES.add(staff.getUsername(), staff.getEmail(), staff.getNationalId());
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to update staff", e);
+        }
+    }
+
+    /**
+     * Replaces the password hash only if it is still {@code expectedHash}, so an upgrade
+     * after login never overwrites a password changed in the meantime.
+     */
+    @Override
+    public boolean replacePasswordHash(int id, String expectedHash, String newHash) {
+        String sql = "UPDATE staff SET password_hash = ? WHERE staff_id = ? AND password_hash = ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, newHash);
+            ps.setInt(2, id);
+            ps.setString(3, expectedHash);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to update staff password", e);
+        }
+    }
+
+    @Override
+    public void deactivate(int id) {
+        String sql = "UPDATE staff SET is_active = FALSE WHERE staff_id = ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, id);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to deactivate staff", e);
+        }
+    }
+
+    /**
+     * Values the Bloom filter has never seen are answered without a query.
+     */
+    @Override
+    public boolean existsByUsernameOrEmailOrNationalId(String username, String email, String nationalId) {
+        if (!UNIQUE_VALUES.mightExist(username, email, nationalId)) {
+            return false;
+        }
+        String sql = "SELECT 1 FROM staff WHERE username = ? OR email = ? OR national_id = ? LIMIT 1";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, username);
+            ps.setString(2, email);
+            ps.setString(3, nationalId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to check staff uniqueness", e);
+        }
+    }
+
+    private Staff mapRow(ResultSet rs) throws SQLException {
+        Staff staff = new Staff();
+        staff.setId(rs.getInt("staff_id"));
+        staff.setUsername(rs.getString("username"));
+        staff.setFirstName(rs.getString("first_name"));
+        staff.setLastName(rs.getString("last_name"));
+        staff.setEmail(rs.getString("email"));
+        staff.setNationalId(rs.getString("national_id"));
+        staff.setPasswordHash(rs.getString("password_hash"));
+        staff.setRole(rs.getString("role"));
+        staff.setActive(rs.getBoolean("is_active"));
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        staff.setCreatedAt(createdAt == null ? null : createdAt.toInstant());
+        return staff;
+    }
+}
@@ -0,0 +1,64 @@
+package dao;
+
+import model.NotificationContent;
+import model.NotificationTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * The template columns shared by {@code notification_messages}, its archive and
+ * {@code notification_outbox}.
+ */
+final class NotificationContentColumns {
+
+    static final String COLUMNS = "template, reservation_id, room_id, actor_id, start_date, end_date";
+    static final String PLACEHOLDERS = "?,?,?,?,?,?";
+
+    private NotificationContentColumns() {
+    }
+
+    /** Qualifies the columns with a table alias, e.g. {@code m.template, m.reservation_id, ...}. */
+    static String columns(String alias) {
+        return alias + "." + COLUMNS.replace(", ", ", " + alias + ".");
+    }
+
+    static int bind(PreparedStatement ps, int index, NotificationContent content) throws SQLException {
+        if (content == null) {
+            for (int type : new int[]{Types.VARCHAR, Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.DATE, Types.DATE}) {
+                ps.setNull(index++, type);
+            }
+            return index;
+        }
+        ps.setString(index++, content.template().name());
+        ps.setInt(index++, content.reservationId());
+        ps.setInt(index++, content.roomId());
+        if (content.actorId() == null) {
+            ps.setNull(index++, Types.INTEGER);
+        } else {
+            ps.setInt(index++, content.actorId());
+        }
+        ps.setDate(index++, Date.valueOf(content.startDate()));
+        ps.setDate(index++, Date.valueOf(content.endDate()));
+        return index;
+    }
+
+    static NotificationContent read(ResultSet rs) throws SQLException {
+        NotificationTemplate template = NotificationTemplate.fromId(rs.getString("template"));
+        if (template == null) {
+            return null;
+        }
+        int actorId = rs.getInt("actor_id");
+        Integer actor = rs.wasNull() ? null : actorId;
+        return new NotificationContent(
+                template,
+                rs.getInt("reservation_id"),
+                rs.getInt("room_id"),
+                actor,
+                rs.getDate("start_date").toLocalDate(),
+                rs.getDate("end_date").toLocalDate());
+    }
+}
@@ -1,107 +1,59 @@
 package dao;
 
-import database.DatabaseConnection;
 import model.Notification;
+import model.NotificationContent;
+import model.NotificationReader;
+import model.Page;
+import model.PageCursor;
 
-import java.sql.*;
-import java.util.ArrayList;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
-public class NotificationDAO {
-
-    private final Connection connection;
-
-    public NotificationDAO() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
-    }
-
-    public int create(String userType, int userId, String message) {
-        String sql = "INSERT INTO notifications (user_type, user_id, message) VALUES (?,?,?)";
-        try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            ps.setString(1, userType);
-            ps.setInt(2, userId);
-            ps.setString(3, message);
-            ps.executeUpdate();
-            try (ResultSet rs = ps.getGeneratedKeys()) {
-                if (rs.next()) {
-                    return rs.getInt(1);
-                }
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to create notification", e);
-        }
-        return -1;
-    }
-
-    public List<Notification> findForUser(String userType, int userId) {
-        List<Notification> notifications = new ArrayList<>();
-        String sql = "SELECT * FROM notifications WHERE user_type=? AND user_id=? ORDER BY created_at DESC";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setString(1, userType);
-            ps.setInt(2, userId);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    notifications.add(mapRow(rs));
-                }
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to list notifications", e);
-        }
-        return notifications;
-    }
-
-    public List<Notification> findAll() {
-        List<Notification> notifications = new ArrayList<>();
-        String sql = "SELECT * FROM notifications ORDER BY created_at DESC";
-        try (PreparedStatement ps = connection.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-            while (rs.next()) {
-                notifications.add(mapRow(rs));
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to list all notifications", e);
-        }
-        return notifications;
-    }
-
-    public void markAsRead(int notificationId) {
-        String sql = "UPDATE notifications SET is_read=1 WHERE notification_id=?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, notificationId);
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to mark notification as read", e);
-        }
-    }
-
-    public void markAllAsRead(String userType, int userId) {
-        String sql = "UPDATE notifications SET is_read=1 WHERE user_type=? AND user_id=?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setString(1, userType);
-            ps.setInt(2, userId);
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to mark notifications as read", e);
-        }
-    }
-
-    public void markAllAsRead() {
-        String sql = "UPDATE notifications SET is_read=1";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to mark all notifications as read", e);
-        }
-    }
-
-    private Notification mapRow(ResultSet rs) throws SQLException {
-        Notification notification = new Notification();
-        notification.setId(rs.getInt("notification_id"));
-        notification.setUserType(rs.getString("user_type"));
-        notification.setUserId(rs.getInt("user_id"));
-        notification.setMessage(rs.getString("message"));
-        notification.setRead(rs.getBoolean("is_read"));
-        notification.setCreatedAt(rs.getTimestamp("created_at").toInstant());
-        return notification;
-    }
+/**
+ * Notification messages, their recipients and read state. {@link JdbcNotificationDAO} is
+ * the database implementation.
+ */
+public interface NotificationDAO {
+
+    String AUDIENCE_ALL_STAFF = "all_staff";
+    String AUDIENCE_ADMINS = "admins";
+
+    int createMessage(String message, boolean toAllStaff, boolean toAdmins, List<Notification> recipients);
+
+    int createMessage(NotificationContent content, boolean toAllStaff, boolean toAdmins, List<Notification> recipients);
+
+    List<Notification> findForUser(NotificationReader reader);
+
+    List<Notification> findForUserSince(NotificationReader reader, int afterId);
+
+    int countUnreadForUser(NotificationReader reader);
+
+    Page<Notification> findPageForUser(NotificationReader reader, PageCursor after, int limit);
+
+    List<Notification> findAll();
+
+    List<Notification> findSince(int afterId);
+
+    List<Notification> findByReservation(int reservationId);
+
+    int countUnread();
+
+    Page<Notification> findPage(PageCursor after, int limit);
+
+    Page<Notification> findArchivedPageForUser(NotificationReader reader, PageCursor after, int limit);
+
+    int archiveBatch(Instant olderThan, int limit);
+
+    void markAsRead(NotificationReader reader, int messageId);
+
+    void markAsRead(NotificationReader reader, Collection<Integer> messageIds);
+
+    void markAsRead(Collection<Integer> messageIds);
+
+    void markAsRead(int messageId);
+
+    void markAllAsRead(NotificationReader reader);
+
+    void markAllAsRead();
 }
@@ -0,0 +1,178 @@
+package dao;
+
+import database.DatabaseConnection;
+import database.TransactionTemplate;
+import model.NotificationContent;
+import model.OutboxMessage;
+
+import java.sql.*;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class NotificationOutboxDAO {
+
+    private final DatabaseConnection database;
+
+    public NotificationOutboxDAO(DatabaseConnection database) {
+        this.database = database;
+    }
+
+    public void enqueue(int customerId, Integer staffId, boolean broadcastStaff, NotificationContent content) {
+        String sql = "INSERT INTO notification_outbox (customer_id, staff_id, broadcast_staff, "
+                + NotificationContentColumns.COLUMNS + ") VALUES (?,?,?," + NotificationContentColumns.PLACEHOLDERS + ")";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, customerId);
+            if (staffId == null) {
+                ps.setNull(2, Types.INTEGER);
+            } else {
+                ps.setInt(2, staffId);
+            }
+            ps.setBoolean(3, broadcastStaff);
+            NotificationContentColumns.bind(ps, 4, content);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to enqueue notification", e);
+        }
+    }
+
+    /**
+     * Locks up to {@code limit} undelivered messages, oldest first, until the surrounding
+     * transaction ends. Rows locked by another dispatcher are skipped.
+     */
+    public List<OutboxMessage> claimPending(int limit, int maxAttempts) {
+        if (!TransactionTemplate.isActive()) {
+            throw new IllegalStateException("Claiming outbox messages requires an active transaction");
+        }
+        String sql = """
+                SELECT outbox_id, customer_id, staff_id, broadcast_staff, message,
+                       template, reservation_id, room_id, actor_id, start_date, end_date, created_at
+                FROM notification_outbox
+                WHERE processed_at IS NULL AND attempts < ?
+                ORDER BY outbox_id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+                """;
+        List<OutboxMessage> messages = new ArrayList<>();
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, maxAttempts);
+            ps.setInt(2, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    int staffId = rs.getInt("staff_id");
+                    messages.add(new OutboxMessage(
+                            rs.getInt("outbox_id"),
+                            rs.getInt("customer_id"),
+                            rs.wasNull() ? null : staffId,
+                            rs.getBoolean("broadcast_staff"),
+                            rs.getString("message"),
+                            NotificationContentColumns.read(rs),
+                            rs.getTimestamp("created_at").toInstant()));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to claim outbox messages", e);
+        }
+        return messages;
+    }
+
+    /**
+     * Messages still waiting for delivery, i.e. the depth of the queue.
+     */
+    public int countPending(int maxAttempts) {
+        String sql = "SELECT COUNT(*) FROM notification_outbox WHERE processed_at IS NULL AND attempts < ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, maxAttempts);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to count pending outbox messages", e);
+        }
+    }
+
+    /**
+     * Locks one message for redelivery until the surrounding transaction ends. Returns
+     * false when it was delivered, given up or locked by another dispatcher in the meantime.
+     */
+    public boolean claim(int outboxId, int maxAttempts) {
+        if (!TransactionTemplate.isActive()) {
+            throw new IllegalStateException("Claiming outbox messages requires an active transaction");
+        }
+        String sql = """
+                SELECT outbox_id FROM notification_outbox
+                WHERE outbox_id = ? AND processed_at IS NULL AND attempts < ?
+                FOR UPDATE SKIP LOCKED
+                """;
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, outboxId);
+            ps.setInt(2, maxAttempts);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to claim outbox message", e);
+        }
+    }
+
+    public void markProcessed(List<OutboxMessage> messages) {
+        updateEach("UPDATE notification_outbox SET processed_at=CURRENT_TIMESTAMP WHERE outbox_id=?", messages,
+                "Failed to mark outbox messages as processed");
+    }
+
+    /**
+     * Charges one failed attempt to {@code message} and returns its attempt count.
+     */
+    public int recordFailure(OutboxMessage message) {
+        String update = "UPDATE notification_outbox SET attempts=attempts+1 WHERE outbox_id=?";
+        String select = "SELECT attempts FROM notification_outbox WHERE outbox_id=?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(update);
+             PreparedStatement query = connection.prepareStatement(select)) {
+            ps.setInt(1, message.id());
+            ps.executeUpdate();
+            query.setInt(1, message.id());
+            try (ResultSet rs = query.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to record outbox failure", e);
+        }
+    }
+
+    /**
+     * Deletes up to {@code limit} messages delivered before {@code olderThan} and returns
+     * how many were deleted. Messages that were given up on are kept for inspection.
+     */
+    public int purgeProcessed(Instant olderThan, int limit) {
+        String sql = "DELETE FROM notification_outbox WHERE processed_at < ? ORDER BY processed_at LIMIT ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setTimestamp(1, Timestamp.from(olderThan));
+            ps.setInt(2, limit);
+            return ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to purge processed outbox messages", e);
+        }
+    }
+
+    private void updateEach(String sql, List<OutboxMessage> messages, String error) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        try (Connection connection = database.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (OutboxMessage message : messages) {
+                ps.setInt(1, message.id());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        } catch (SQLException e) {
+            throw new RuntimeException(error, e);
+        }
+    }
+}
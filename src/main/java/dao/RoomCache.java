@@ -0,0 +1,159 @@
+package dao;
+
+import database.TransactionTemplate;
+import factory.RoomFactory;
+import model.room.Room;
+import util.IntObjectMap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of rooms keyed by id, plus the full catalog once it has been listed.
+ * {@link JdbcRoomDAO} drops a room when it writes it, again after the transaction commits, so
+ * a reader that reloaded the old row mid-transaction cannot leave it cached. Everything
+ * is also dropped every few minutes to pick up changes made by other processes. The cache
+ * keeps its own copies and hands out fresh ones, so callers may modify what they get.
+ * <p>
+ * Inside a transaction, reads go straight to the database and are not cached, as in
+ * {@link CachingDAO}: the transaction must see its own writes and the rows it locked, and
+ * rows it read must not stay cached if it rolls back.
+ */
+public final class RoomCache {
+
+    private static final long MAX_AGE_MS = 5 * 60_000;
+    private static RoomCache instance;
+
+    private final IntObjectMap<Room> rooms = new IntObjectMap<>(256);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long version;
+    private boolean catalogLoaded;
+    private long clearedAt = System.currentTimeMillis();
+
+    private RoomCache() {
+    }
+
+    public static synchronized RoomCache getInstance() {
+        if (instance == null) {
+            instance = new RoomCache();
+        }
+        return instance;
+    }
+
+    Room get(int roomId, IntFunction<Room> loader) {
+        if (TransactionTemplate.isActive()) {
+            return loader.apply(roomId);
+        }
+        Room room = getIfPresent(roomId);
+        if (room != null) {
+            return room;
+        }
+        long loadedVersion = currentVersion();
+        room = loader.apply(roomId);
+        if (room != null) {
+            putIfCurrent(loadedVersion, List.of(room), false);
+        }
+        return room;
+    }
+
+    /** A copy of the cached room, or null without loading; counts as a hit or a miss. */
+    private synchronized Room getIfPresent(int roomId) {
+        expireIfOld();
+        Room room = rooms.get(roomId);
+        if (room == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return RoomFactory.copyOf(room);
+    }
+
+    /**
+     * Every room ordered by id, loaded once with {@code loader} and then served from memory.
+     */
+    List<Room> all(Supplier<List<Room>> loader) {
+        if (TransactionTemplate.isActive()) {
+            return sortedById(loader.get());
+        }
+        long loadedVersion;
+        synchronized (this) {
+            expireIfOld();
+            if (catalogLoaded) {
+                hits.increment();
+                return sortedRooms();
+            }
+            misses.increment();
+            loadedVersion = version;
+        }
+        List<Room> loaded = loader.get();
+        putIfCurrent(loadedVersion, loaded, true);
+        return sortedById(loaded);
+    }
+
+    private static List<Room> sortedById(List<Room> rooms) {
+        List<Room> sorted = new ArrayList<>(rooms);
+        sorted.sort(Comparator.comparingInt(Room::getId));
+        return sorted;
+    }
+
+    void invalidate(int roomId) {
+        evict(roomId);
+        TransactionTemplate.afterCommit(() -> evict(roomId));
+    }
+
+    public Stats stats() {
+        synchronized (this) {
+            return new Stats(hits.sum(), misses.sum(), rooms.size());
+        }
+    }
+
+    private synchronized void evict(int roomId) {
+        version++;
+        rooms.remove(roomId);
+        catalogLoaded = false;
+    }
+
+    private void expireIfOld() {
+        long now = System.currentTimeMillis();
+        if (now - clearedAt > MAX_AGE_MS) {
+            version++;
+            rooms.clear();
+            catalogLoaded = false;
+            clearedAt = now;
+        }
+    }
+
+    private synchronized long currentVersion() {
+        return version;
+    }
+
+    // A write since the load started means the loaded rows may be stale; skip caching them.
+    private synchronized void putIfCurrent(long loadedVersion, List<Room> loaded, boolean catalog) {
+        if (version != loadedVersion) {
+            return;
+        }
+        for (Room room : loaded) {
+            rooms.put(room.getId(), RoomFactory.copyOf(room));
+        }
+        if (catalog) {
+            catalogLoaded = true;
+        }
+    }
+
+    private List<Room> sortedRooms() {
+        List<Room> all = new ArrayList<>(rooms.size());
+        for (Room room : rooms.values()) {
+            all.add(RoomFactory.copyOf(room));
+        }
+        all.sort(Comparator.comparingInt(Room::getId));
+        return all;
+    }
+
+    public record Stats(long hits, long misses, int cachedRooms) {
+    }
+}
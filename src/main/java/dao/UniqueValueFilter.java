@@ -0,0 +1,118 @@
+package dao;
+
+import database.DatabaseConnection;
+import util.BloomFilter;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bloom filter of the usernames, emails and national ids already in one table, so a
+ * uniqueness check for values that are certainly new skips the database. It is loaded on
+ * first use, fed by this process's inserts and updates, and reloaded periodically (or
+ * when it fills up) to pick up rows written elsewhere. A row another process inserted
+ * since the last reload can be missed; the unique constraints still reject it then.
+ */
+final class UniqueValueFilter {
+
+    private static final Logger LOGGER = Logger.getLogger(UniqueValueFilter.class.getName());
+    private static final long RELOAD_INTERVAL_MS = 5 * 60_000;
+    private static final int MIN_CAPACITY = 10_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final String table;
+    private volatile BloomFilter filter;
+    private volatile long loadedAt;
+    private int capacity;
+    private int size;
+
+    UniqueValueFilter(String table) {
+        this.table = table;
+    }
+
+    /**
+     * False only if none of the values can be in the table. Also true when the filter
+     * could not be loaded, so callers fall back to querying.
+     */
+    boolean mightExist(String username, String email, String nationalId) {
+        BloomFilter current = current();
+        return current == null
+                || mightContain(current, "u:", username)
+                || mightContain(current, "e:", email)
+                || mightContain(current, "n:", nationalId);
+    }
+
+    synchronized void add(String username, String email, String nationalId) {
+        if (filter == null) {
+            return;
+        }
+        addValues(filter, username, email, nationalId);
+        if (++size > capacity) {
+            loadedAt = 0;
+        }
+    }
+
+    private BloomFilter current() {
+        if (System.currentTimeMillis() - loadedAt <= RELOAD_INTERVAL_MS) {
+            return filter;
+        }
+        synchronized (this) {
+            if (System.currentTimeMillis() - loadedAt > RELOAD_INTERVAL_MS) {
+                reload();
+            }
+            return filter;
+        }
+    }
+
+    private void reload() {
+        String sql = "SELECT username, email, national_id FROM " + table;
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement count = connection.prepareStatement("SELECT COUNT(*) FROM " + table);
+             ResultSet countRs = count.executeQuery()) {
+            int rows = countRs.next() ? countRs.getInt(1) : 0;
+            int newCapacity = Math.max(MIN_CAPACITY, rows * 2);
+            BloomFilter loaded = new BloomFilter(newCapacity * 3, FALSE_POSITIVE_RATE);
+            int loadedRows = 0;
+            try (PreparedStatement ps = connection.prepareStatement(sql);
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    addValues(loaded, rs.getString("username"), rs.getString("email"), rs.getString("national_id"));
+                    loadedRows++;
+                }
+            }
+            filter = loaded;
+            capacity = newCapacity;
+            size = loadedRows;
+        } catch (SQLException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to load " + table + " uniqueness filter; checking the database instead", e);
+            filter = null;
+        }
+        loadedAt = System.currentTimeMillis();
+    }
+
+    private static void addValues(BloomFilter target, String username, String email, String nationalId) {
+        add(target, "u:", username);
+        add(target, "e:", email);
+        add(target, "n:", nationalId);
+    }
+
+    private static void add(BloomFilter target, String prefix, String value) {
+        if (value != null) {
+            target.add(prefix + normalize(value));
+        }
+    }
+
+    private static boolean mightContain(BloomFilter target, String prefix, String value) {
+        return value != null && target.mightContain(prefix + normalize(value));
+    }
+
+    // The columns use a case-insensitive collation.
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,277 @@
+package database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+final class ConnectionPool {
+
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+    private static final long VALIDATE_AFTER_IDLE_MS = 5_000;
+    private static final long HOUSEKEEPING_INTERVAL_MS = 30_000;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long acquireTimeoutMs;
+    private final long idleTimeoutMs;
+    private final long leakThresholdMs;
+    private final boolean traceLeaks;
+    private final String validationQuery;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Map<PooledConnection, Borrow> inUse = new ConcurrentHashMap<>();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean shutdown;
+
+    ConnectionPool(String url, String user, String password, int minSize, int maxSize,
+                   long acquireTimeoutMs, long idleTimeoutMs, long leakThresholdMs, boolean traceLeaks, String validationQuery) throws SQLException {
+        if (minSize < 0 || maxSize <= 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.leakThresholdMs = leakThresholdMs;
+        this.traceLeaks = traceLeaks;
+        this.validationQuery = validationQuery;
+        this.permits = new Semaphore(maxSize, true);
+        for (int i = 0; i < minSize; i++) {
+            idle.offerLast(open());
+        }
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep, HOUSEKEEPING_INTERVAL_MS, HOUSEKEEPING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    Connection borrow() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("Connection pool is shut down");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + acquireTimeoutMs + " ms waiting for a database connection (max " + maxSize + " in use)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        try {
+            PooledConnection pooled = takeValidConnection();
+            String thread = Thread.currentThread().getName();
+            // Filling in a stack trace costs more than the rest of a borrow, so it is opt-in.
+            inUse.put(pooled, new Borrow(System.currentTimeMillis(), thread,
+                    traceLeaks ? new Throwable("Connection borrowed by " + thread) : null));
+            return pooled.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    int getActiveCount() {
+        return inUse.size();
+    }
+
+    int getIdleCount() {
+        return idle.size();
+    }
+
+    int getMaxSize() {
+        return maxSize;
+    }
+
+    void shutdown() {
+        shutdown = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    private PooledConnection takeValidConnection() throws SQLException {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (System.currentTimeMillis() - pooled.lastUsed < VALIDATE_AFTER_IDLE_MS || isValid(pooled)) {
+                return pooled;
+            }
+            discard(pooled);
+        }
+        return open();
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        totalConnections.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    private boolean isValid(PooledConnection pooled) {
+        try (Statement st = pooled.physical.createStatement()) {
+            st.setQueryTimeout(5);
+            st.execute(validationQuery);
+            return true;
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Discarding connection that failed validation", e);
+            return false;
+        }
+    }
+
+    private void release(PooledConnection pooled) {
+        if (inUse.remove(pooled) == null) {
+            return;
+        }
+        try {
+            if (shutdown || pooled.physical.isClosed()) {
+                discard(pooled);
+                return;
+            }
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+            pooled.lastUsed = System.currentTimeMillis();
+            idle.offerFirst(pooled);
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Discarding connection that could not be reset", e);
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Failed to close pooled connection", e);
+        }
+    }
+
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+            while (totalConnections.get() > minSize) {
+                PooledConnection oldest = idle.peekLast();
+                if (oldest == null || now - oldest.lastUsed < idleTimeoutMs || !idle.removeLastOccurrence(oldest)) {
+                    break;
+                }
+                discard(oldest);
+            }
+            while (totalConnections.get() < minSize && !shutdown) {
+                idle.offerLast(open());
+            }
+            for (Map.Entry<PooledConnection, Borrow> entry : inUse.entrySet()) {
+                Borrow borrow = entry.getValue();
+                if (!borrow.reported && now - borrow.borrowedAt > leakThresholdMs) {
+                    borrow.reported = true;
+                    LOGGER.log(Level.WARNING, "Possible connection leak: connection held for " + (now - borrow.borrowedAt)
+                            + " ms by " + borrow.thread, borrow.origin);
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Connection pool housekeeping failed", e);
+        }
+    }
+
+    private static final class Borrow {
+        private final long borrowedAt;
+        private final String thread;
+        private final Throwable origin;
+        private volatile boolean reported;
+
+        private Borrow(long borrowedAt, String thread, Throwable origin) {
+            this.borrowedAt = borrowedAt;
+            this.thread = thread;
+            this.origin = origin;
+        }
+    }
+
+    private final class PooledConnection {
+        private final Connection physical;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        private Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new Handle(this));
+        }
+    }
+
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean closed;
+
+        private Handle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!closed) {
+                        closed = true;
+                        release(pooled);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed || pooled.physical.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "PooledConnection[" + pooled.physical + (closed ? ", closed" : "") + "]";
+                }
+                default -> {
+                }
+            }
+            if (closed) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
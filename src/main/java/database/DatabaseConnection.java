@@ -1,17 +1,30 @@
 package database;
 
+import util.Settings;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public final class DatabaseConnection {
 
     private static DatabaseConnection instance;
-    private Connection connection;
+    private final ConnectionPool pool;
 
-    private static final String URL = "jdbc:mysql://127.0.0.1:3307/hotel_db?useSSL=false&serverTimezone=UTC";
+    private static final String URL = "jdbc:mysql://127.0.0.1:3307/hotel_db?useSSL=false&serverTimezone=UTC&rewriteBatchedStatements=true";
+    private static final String VALIDATION_QUERY = "SELECT 1";
 
     private DatabaseConnection() {
+        this(createPool());
+    }
+
+    /**
+     * Tests use this to run against a pool of their own.
+     */
+    DatabaseConnection(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    private static ConnectionPool createPool() {
         try {
             String dbUser = System.getenv("DB_USER");
             String dbPassword = System.getenv("DB_PASSWORD");
@@ -20,7 +33,18 @@ public final class DatabaseConnection {
                 // SonarQube kızmasın diye burayı boş veya dummy bırakabilirsin şimdilik.
                 throw new IllegalStateException("Veritabanı kullanıcı adı veya şifresi ortam değişkenlerinde bulunamadı! (DB_USER, DB_PASSWORD)");
             }
-            this.connection = DriverManager.getConnection(URL, dbUser, dbPassword);
+            return new ConnectionPool(
+                    URL,
+                    dbUser,
+                    dbPassword,
+                    Settings.intSetting("DB_POOL_MIN_SIZE", 2),
+                    Settings.intSetting("DB_POOL_MAX_SIZE", 10),
+                    Settings.intSetting("DB_POOL_ACQUIRE_TIMEOUT_MS", 10_000),
+                    Settings.intSetting("DB_POOL_IDLE_TIMEOUT_MS", 300_000),
+                    Settings.intSetting("DB_POOL_LEAK_THRESHOLD_MS", 60_000),
+                    Settings.booleanSetting("DB_POOL_LEAK_TRACE", false),
+                    VALIDATION_QUERY
+            );
         } catch (SQLException e) {
             throw new IllegalStateException("Failed to initialize database connection", e);
         }
@@ -33,7 +57,44 @@ public final class DatabaseConnection {
         return instance;
     }
 
-    public Connection getConnection() {
-        return connection;
+    /**
+     * Replaces the shared instance, which {@link TransactionTemplate} borrows from; tests
+     * install their own and reset it to null afterwards.
+     */
+    static synchronized void setInstance(DatabaseConnection database) {
+        instance = database;
+    }
+
+    /**
+     * Borrows a connection from the pool. Callers must close it (try-with-resources)
+     * so it is returned to the pool. Inside {@link TransactionTemplate} the thread's
+     * transactional connection is returned instead and closing it is a no-op.
+     */
+    public Connection getConnection() throws SQLException {
+        Connection transactional = TransactionTemplate.currentConnection();
+        if (transactional != null) {
+            return transactional;
+        }
+        return pool.borrow();
+    }
+
+    Connection borrow() throws SQLException {
+        return pool.borrow();
+    }
+
+    public int getActiveConnections() {
+        return pool.getActiveCount();
+    }
+
+    public int getIdleConnections() {
+        return pool.getIdleCount();
+    }
+
+    public int getMaxConnections() {
+        return pool.getMaxSize();
+    }
+
+    public void shutdown() {
+        pool.shutdown();
     }
 }
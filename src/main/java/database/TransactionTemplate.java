@@ -0,0 +1,122 @@
+package database;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs a unit of work on a single pooled connection with one commit at the end.
+ * While the work runs, DAOs calling {@link DatabaseConnection#getConnection()} on the
+ * same thread receive the transaction's connection, so their statements join it.
+ * Nested calls participate in the outer transaction.
+ */
+public final class TransactionTemplate {
+
+    private static final Logger LOGGER = Logger.getLogger(TransactionTemplate.class.getName());
+    private static final ThreadLocal<Connection> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<List<Runnable>> AFTER_COMMIT = new ThreadLocal<>();
+
+    private TransactionTemplate() {
+    }
+
+    public static <T> T execute(Supplier<T> work) {
+        if (CURRENT.get() != null) {
+            return work.get();
+        }
+        List<Runnable> afterCommit = new ArrayList<>();
+        T result;
+        try (Connection connection = DatabaseConnection.getInstance().borrow()) {
+            connection.setAutoCommit(false);
+            CURRENT.set(participant(connection));
+            AFTER_COMMIT.set(afterCommit);
+            try {
+                result = work.get();
+                connection.commit();
+            } catch (RuntimeException | Error e) {
+                rollbackQuietly(connection, e);
+                throw e;
+            } finally {
+                CURRENT.remove();
+                AFTER_COMMIT.remove();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Transaction failed", e);
+        }
+        runAfterCommit(afterCommit);
+        return result;
+    }
+
+    public static void run(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Defers {@code action} until the current transaction commits; it is dropped on
+     * rollback. Outside a transaction the action runs immediately.
+     */
+    public static void afterCommit(Runnable action) {
+        List<Runnable> actions = AFTER_COMMIT.get();
+        if (actions == null) {
+            action.run();
+            return;
+        }
+        actions.add(action);
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static Connection currentConnection() {
+        return CURRENT.get();
+    }
+
+    private static void runAfterCommit(List<Runnable> actions) {
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "After-commit action failed", e);
+            }
+        }
+    }
+
+    private static void rollbackQuietly(Connection connection, Throwable cause) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private static Connection participant(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                TransactionTemplate.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close" -> {
+                            return null;
+                        }
+                        case "commit", "rollback", "setAutoCommit" -> throw new SQLException(
+                                "Transaction boundaries are managed by TransactionTemplate");
+                        default -> {
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
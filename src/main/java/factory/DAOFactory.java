@@ -0,0 +1,141 @@
+package factory;
+
+import dao.CachePolicy;
+import dao.CachingDAO;
+import dao.CustomerDAO;
+import dao.JdbcCustomerDAO;
+import dao.JdbcNotificationDAO;
+import dao.JdbcReservationActionDAO;
+import dao.JdbcReservationDAO;
+import dao.JdbcRoomDAO;
+import dao.JdbcStaffDAO;
+import dao.NotificationDAO;
+import dao.NotificationOutboxDAO;
+import dao.ReservationActionDAO;
+import dao.ReservationDAO;
+import dao.RoomDAO;
+import dao.StaffDAO;
+import database.DatabaseConnection;
+import model.room.Room;
+import model.user.Customer;
+import model.user.Staff;
+import util.LruCache;
+import util.Settings;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Shared DAO instances for the services. Each entity can be put behind a
+ * {@link CachingDAO} with {@code DAO_CACHE_<ENTITY>=true}, e.g. {@code DAO_CACHE_CUSTOMERS};
+ * reservations are the exception, see {@link #reservations()}.
+ * The instances are shared so that a write through one service invalidates the reads
+ * cached for every other service in this process. Writes by other processes are only seen
+ * once entries expire after {@code DAO_CACHE_TTL_SECONDS}. Caching is off by default;
+ * {@link #cacheStats()} shows whether it pays off.
+ */
+public final class DAOFactory {
+
+    private static final int CACHE_SIZE = Settings.intSetting("DAO_CACHE_SIZE", 256);
+    private static final Duration CACHE_TTL = Duration.ofSeconds(Settings.intSetting("DAO_CACHE_TTL_SECONDS", 60));
+    private static final Map<String, CachingDAO<?>> CACHES = new TreeMap<>();
+
+    private static CustomerDAO customers;
+    private static StaffDAO staff;
+    private static RoomDAO rooms;
+    private static ReservationDAO reservations;
+    private static NotificationDAO notifications;
+    private static ReservationActionDAO reservationActions;
+    private static NotificationOutboxDAO outbox;
+
+    private DAOFactory() {
+    }
+
+    public static synchronized CustomerDAO customers() {
+        if (customers == null) {
+            customers = decorate("customers", CustomerDAO.class, new JdbcCustomerDAO(DatabaseConnection.getInstance()),
+                    CachePolicy.cache("findAll", "findPage", "search")
+                            .invalidatedBy("create", "update", "replacePasswordHash", "deactivate", "deleteAccount")
+                            .copying(Customer.class, Customer::new));
+        }
+        return customers;
+    }
+
+    public static synchronized StaffDAO staff() {
+        if (staff == null) {
+            staff = decorate("staff", StaffDAO.class, new JdbcStaffDAO(DatabaseConnection.getInstance()),
+                    CachePolicy.cache("findAll", "findPage", "search")
+                            .invalidatedBy("create", "update", "replacePasswordHash", "deactivate")
+                            .copying(Staff.class, Staff::new));
+        }
+        return staff;
+    }
+
+    /** Rooms by id and the full list are cached by {@code RoomCache} already. */
+    public static synchronized RoomDAO rooms() {
+        if (rooms == null) {
+            rooms = decorate("rooms", RoomDAO.class, new JdbcRoomDAO(DatabaseConnection.getInstance()),
+                    CachePolicy.cache("searchAllByTypeAndCapacity")
+                            .invalidatedBy("create", "update", "updateStatus")
+                            .copying(Room.class, RoomFactory::copyOf));
+        }
+        return rooms;
+    }
+
+    /**
+     * Never cached. Services change the state of the full reservations they load, and
+     * summaries carry customer names and room numbers, which customer and room writes
+     * would have to invalidate as well.
+     */
+    public static synchronized ReservationDAO reservations() {
+        if (reservations == null) {
+            reservations = new JdbcReservationDAO(DatabaseConnection.getInstance());
+        }
+        return reservations;
+    }
+
+    /** Only unread counts are cached; panels update the read flags of the rows they load. */
+    public static synchronized NotificationDAO notifications() {
+        if (notifications == null) {
+            notifications = decorate("notifications", NotificationDAO.class, new JdbcNotificationDAO(DatabaseConnection.getInstance()),
+                    CachePolicy.cache("countUnreadForUser", "countUnread")
+                            .invalidatedBy("createMessage", "archiveBatch", "markAsRead", "markAllAsRead"));
+        }
+        return notifications;
+    }
+
+    /** Write-only, so there is nothing to cache. */
+    public static synchronized ReservationActionDAO reservationActions() {
+        if (reservationActions == null) {
+            reservationActions = new JdbcReservationActionDAO(DatabaseConnection.getInstance());
+        }
+        return reservationActions;
+    }
+
+    /** A queue, so it is never cached. */
+    public static synchronized NotificationOutboxDAO outbox() {
+        if (outbox == null) {
+            outbox = new NotificationOutboxDAO(DatabaseConnection.getInstance());
+        }
+        return outbox;
+    }
+
+    /**
+     * Statistics of every enabled cache, by entity name.
+     */
+    public static synchronized Map<String, LruCache.Stats> cacheStats() {
+        Map<String, LruCache.Stats> stats = new TreeMap<>();
+        CACHES.forEach((name, cache) -> stats.put(name, cache.stats()));
+        return stats;
+    }
+
+    private static <T> T decorate(String name, Class<T> type, T dao, CachePolicy policy) {
+        if (!Settings.booleanSetting("DAO_CACHE_" + name.toUpperCase(), false)) {
+            return dao;
+        }
+        CachingDAO<T> caching = new CachingDAO<>(type, dao, policy, CACHE_SIZE, CACHE_TTL);
+        CACHES.put(name, caching);
+        return caching.proxy();
+    }
+}
@@ -0,0 +1,26 @@
+package factory;
+
+import state.ActiveState;
+import state.CanceledState;
+import state.CheckedInState;
+import state.CompletedState;
+import state.PendingState;
+import state.ReservationState;
+
+public final class ReservationStateFactory {
+
+    private ReservationStateFactory() {
+    }
+
+    public static ReservationState fromStatus(String status) {
+        String normalized = status == null ? "" : status;
+        return switch (normalized) {
+            case "pending" -> new PendingState();
+            case "active" -> new ActiveState();
+            case "checked_in" -> new CheckedInState();
+            case "completed" -> new CompletedState();
+            case "canceled" -> new CanceledState();
+            default -> new PendingState();
+        };
+    }
+}
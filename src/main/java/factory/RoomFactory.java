@@ -19,4 +19,15 @@ public final class RoomFactory {
             default -> new StandardRoom(); 
         };
     }
+
+    /** A detached copy of {@code room}, of the same type. */
+    public static Room copyOf(Room room) {
+        Room copy = createRoom(room.getType());
+        copy.setId(room.getId());
+        copy.setRoomNumber(room.getRoomNumber());
+        copy.setCapacity(room.getCapacity());
+        copy.setPricePerNight(room.getPricePerNight());
+        copy.setStatus(room.getStatus());
+        return copy;
+    }
 }
@@ -7,6 +7,7 @@ public class Notification {
     private String userType;
     private int userId;
     private String message;
+    private NotificationContent content;
     private Instant createdAt;
     private boolean read;
 
@@ -42,6 +43,17 @@ public class Notification {
         this.message = message;
     }
 
+    /**
+     * Template parameters, or null for a plain-text notification.
+     */
+    public NotificationContent getContent() {
+        return content;
+    }
+
+    public void setContent(NotificationContent content) {
+        this.content = content;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,15 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * Parameters of a templated notification as stored in the row. {@code actorId} is the
+ * staff member who acted, or null when the reservation's customer did.
+ */
+public record NotificationContent(NotificationTemplate template,
+                                  int reservationId,
+                                  int roomId,
+                                  Integer actorId,
+                                  LocalDate startDate,
+                                  LocalDate endDate) {
+}
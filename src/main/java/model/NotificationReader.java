@@ -0,0 +1,27 @@
+package model;
+
+import java.time.Instant;
+
+/**
+ * The user whose notifications are read. {@code admin} decides whether messages sent to
+ * the admins reach a staff member, and audience messages (all staff, admins) are only
+ * visible from {@code audienceSince} on, the time the staff member joined. The service
+ * layer resolves both, so the DAO never looks up staff rows itself.
+ */
+public record NotificationReader(String userType, int userId, boolean admin, Instant audienceSince) {
+
+    public static NotificationReader customer(int customerId) {
+        return new NotificationReader("customer", customerId, false, Instant.EPOCH);
+    }
+
+    /**
+     * @param joinedAt when the staff member was created; null shows every audience message
+     */
+    public static NotificationReader staff(int staffId, boolean admin, Instant joinedAt) {
+        return new NotificationReader("staff", staffId, admin, joinedAt == null ? Instant.EPOCH : joinedAt);
+    }
+
+    public boolean isStaff() {
+        return "staff".equals(userType);
+    }
+}
@@ -0,0 +1,28 @@
+package model;
+
+/**
+ * Kinds of reservation notification. The constant name is the template id stored with
+ * the message; the text is put together only when the notification is displayed.
+ */
+public enum NotificationTemplate {
+    RESERVATION_CREATED("Created by"),
+    RESERVATION_CHECKED_IN("Check-in by"),
+    RESERVATION_CHECKED_OUT("Check-out by"),
+    RESERVATION_CANCELED("Canceled by"),
+    PAYMENT_PAID("Payment marked PAID by"),
+    PAYMENT_REFUNDED("Payment REFUNDED by");
+
+    private final String action;
+
+    NotificationTemplate(String action) {
+        this.action = action;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public static NotificationTemplate fromId(String id) {
+        return id == null ? null : valueOf(id);
+    }
+}
@@ -0,0 +1,13 @@
+package model;
+
+import java.time.Instant;
+
+/**
+ * A reservation notification waiting in the outbox. The recipients are resolved when it
+ * is dispatched: the customer, {@code staffId} (or every active staff member when
+ * {@code broadcastStaff} is set) and all active admins. Messages carry either
+ * {@code content} or, when written before templates existed, plain {@code message} text.
+ */
+public record OutboxMessage(int id, int customerId, Integer staffId, boolean broadcastStaff,
+                            String message, NotificationContent content, Instant createdAt) {
+}
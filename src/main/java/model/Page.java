@@ -0,0 +1,23 @@
+package model;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record Page<T>(List<T> items, PageCursor next) {
+
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    /**
+     * Builds a page from rows fetched with {@code LIMIT limit + 1}; the extra row only
+     * signals that another page exists and is dropped.
+     */
+    public static <T> Page<T> of(List<T> rows, int limit, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new Page<>(List.copyOf(rows), null);
+        }
+        List<T> items = List.copyOf(rows.subList(0, limit));
+        return new Page<>(items, cursorOf.apply(items.get(limit - 1)));
+    }
+}
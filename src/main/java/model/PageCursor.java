@@ -0,0 +1,10 @@
+package model;
+
+import java.time.Instant;
+
+/**
+ * Keyset position of the last row of a page: rows are ordered by
+ * {@code created_at DESC, id DESC}, so the next page starts strictly after this pair.
+ */
+public record PageCursor(Instant createdAt, int id) {
+}
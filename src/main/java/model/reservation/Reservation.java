@@ -5,6 +5,7 @@ import model.user.Customer;
 import state.ReservationState;
 import state.PendingState;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 public class Reservation {
@@ -16,6 +17,7 @@ public class Reservation {
     private double totalPrice;
     private String paymentStatus;
     private ReservationState currentState;
+    private Instant createdAt;
 
     public Reservation() {
         this.currentState = new PendingState();
@@ -78,6 +80,14 @@ public class Reservation {
         this.paymentStatus = paymentStatus;
     }
 
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
     public ReservationState getCurrentState() {
         return currentState;
     }
@@ -0,0 +1,21 @@
+package model.reservation;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Read-only row for reservation lists. Carries only what the list screens display,
+ * without the full customer and room objects of {@link Reservation}.
+ */
+public record ReservationSummary(int reservationId,
+                                 int customerId,
+                                 String guestName,
+                                 String roomNumber,
+                                 String roomType,
+                                 LocalDate startDate,
+                                 LocalDate endDate,
+                                 String status,
+                                 String paymentStatus,
+                                 double totalPrice,
+                                 Instant createdAt) {
+}
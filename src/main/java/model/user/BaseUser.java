@@ -1,5 +1,7 @@
 package model.user;
 
+import java.time.Instant;
+
 public abstract class BaseUser {
     protected int id;
     protected String username;
@@ -7,6 +9,7 @@ public abstract class BaseUser {
     protected String lastName;
     protected String email;
     protected String passwordHash;
+    protected Instant createdAt;
 
     public int getId() {
         return id;
@@ -56,5 +59,13 @@ public abstract class BaseUser {
         this.passwordHash = passwordHash;
     }
 
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
     public abstract String getDisplayName();
 }
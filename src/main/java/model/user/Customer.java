@@ -9,6 +9,20 @@ public class Customer extends BaseUser {
         this.active = true;
     }
 
+    /** A detached copy of {@code other}. */
+    public Customer(Customer other) {
+        this.id = other.id;
+        this.username = other.username;
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.email = other.email;
+        this.passwordHash = other.passwordHash;
+        this.createdAt = other.createdAt;
+        this.phone = other.phone;
+        this.nationalId = other.nationalId;
+        this.active = other.active;
+    }
+
     private Customer(Builder builder) {
         this.username = builder.username;
         this.firstName = builder.firstName;
@@ -8,6 +8,20 @@ public class Staff extends BaseUser {
     public Staff() {
     }
 
+    /** A detached copy of {@code other}. */
+    public Staff(Staff other) {
+        this.id = other.id;
+        this.username = other.username;
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.email = other.email;
+        this.passwordHash = other.passwordHash;
+        this.createdAt = other.createdAt;
+        this.role = other.role;
+        this.nationalId = other.nationalId;
+        this.active = other.active;
+    }
+
     public Staff(String username, String firstName, String lastName, String email, String nationalId, String passwordHash, String role) {
         this.username = username;
         this.firstName = firstName;
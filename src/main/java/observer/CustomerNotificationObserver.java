@@ -1,18 +1,21 @@
 package observer;
 
-import dao.NotificationDAO;
+import model.Notification;
+import model.OutboxMessage;
 
-public class CustomerNotificationObserver implements NotificationObserver {
-    private final int customerId;
-    private final NotificationDAO notificationDAO;
+import java.util.List;
 
-    public CustomerNotificationObserver(int customerId, NotificationDAO notificationDAO) {
-        this.customerId = customerId;
-        this.notificationDAO = notificationDAO;
-    }
+/**
+ * Adds the reservation's customer to the recipients; the caller stores the message once
+ * for all of them.
+ */
+public class CustomerNotificationObserver implements NotificationObserver {
 
     @Override
-    public void onNotify(String message) {
-        notificationDAO.create("customer", customerId, message);
+    public void onNotify(OutboxMessage message, List<Notification> recipients) {
+        Notification notification = new Notification();
+        notification.setUserType("customer");
+        notification.setUserId(message.customerId());
+        recipients.add(notification);
     }
 }
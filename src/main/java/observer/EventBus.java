@@ -0,0 +1,94 @@
+package observer;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-process bus that tells open panels what changed so they can patch their lists
+ * instead of reloading them. Events may be published from any thread; they are
+ * delivered on the Swing event dispatch thread, and everything published before a
+ * delivery runs is handed over as one batch per event type with duplicates removed.
+ * Events are therefore small value records identifying what changed.
+ */
+public final class EventBus {
+
+    private static final Logger LOGGER = Logger.getLogger(EventBus.class.getName());
+    private static EventBus instance;
+
+    private final Map<Class<?>, List<Consumer<List<Object>>>> listeners = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private Set<Object> pending = new LinkedHashSet<>();
+    private boolean deliveryScheduled;
+
+    private EventBus() {
+    }
+
+    public static synchronized EventBus getInstance() {
+        if (instance == null) {
+            instance = new EventBus();
+        }
+        return instance;
+    }
+
+    /**
+     * Registers {@code listener} for events of exactly {@code type}. Cancel the returned
+     * subscription when the subscriber goes away.
+     */
+    @SuppressWarnings("unchecked")
+    public <E> Subscription subscribe(Class<E> type, Consumer<List<E>> listener) {
+        Consumer<List<Object>> untyped = events -> listener.accept((List<E>) events);
+        listeners.computeIfAbsent(type, k -> new CopyOnWriteArrayList<>()).add(untyped);
+        return () -> listeners.getOrDefault(type, List.of()).remove(untyped);
+    }
+
+    public void publish(Object event) {
+        List<Consumer<List<Object>>> subscribers = listeners.get(event.getClass());
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        synchronized (lock) {
+            pending.add(event);
+            if (deliveryScheduled) {
+                return;
+            }
+            deliveryScheduled = true;
+        }
+        SwingUtilities.invokeLater(this::deliver);
+    }
+
+    private void deliver() {
+        Set<Object> batch;
+        synchronized (lock) {
+            batch = pending;
+            pending = new LinkedHashSet<>();
+            deliveryScheduled = false;
+        }
+        Map<Class<?>, List<Object>> byType = new LinkedHashMap<>();
+        for (Object event : batch) {
+            byType.computeIfAbsent(event.getClass(), k -> new ArrayList<>()).add(event);
+        }
+        byType.forEach((type, events) -> {
+            for (Consumer<List<Object>> listener : listeners.getOrDefault(type, List.of())) {
+                try {
+                    listener.accept(List.copyOf(events));
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Event listener failed for " + type.getSimpleName(), e);
+                }
+            }
+        });
+    }
+
+    public interface Subscription {
+        void cancel();
+    }
+}
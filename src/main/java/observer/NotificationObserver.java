@@ -1,5 +1,26 @@
 package observer;
 
+import model.Notification;
+import model.OutboxMessage;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decides who receives a dispatched notification. Observers are registered once and
+ * shared by every dispatch, so they keep no per-message state.
+ */
 public interface NotificationObserver {
-    void onNotify(String message);
+
+    void onNotify(OutboxMessage message, List<Notification> recipients);
+
+    /**
+     * Called once per dispatched batch with the recipient list of each message, keyed by
+     * outbox id. Observers that can resolve a whole batch at once override this.
+     */
+    default void onNotifyBatch(List<OutboxMessage> messages, Map<Integer, List<Notification>> recipients) {
+        for (OutboxMessage message : messages) {
+            onNotify(message, recipients.get(message.id()));
+        }
+    }
 }
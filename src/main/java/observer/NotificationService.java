@@ -1,11 +1,25 @@
 package observer;
 
+import model.Notification;
+import model.OutboxMessage;
+
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Long-lived registry of {@link NotificationObserver}s. A dispatch hands every observer
+ * the whole batch once, and the time each observer type spends is recorded so slow
+ * observers show up in {@link #observerStats()}.
+ */
 public class NotificationService {
 
-    private final List<NotificationObserver> observers = new ArrayList<>();
+    private final List<NotificationObserver> observers = new CopyOnWriteArrayList<>();
+    private final Map<Class<?>, ObserverTimer> timers = new ConcurrentHashMap<>();
 
     public void registerObserver(NotificationObserver observer) {
         observers.add(observer);
@@ -15,9 +29,52 @@ public class NotificationService {
         observers.remove(observer);
     }
 
-    public void notifyAll(String message) {
-        for (NotificationObserver observer : List.copyOf(observers)) {
-            observer.onNotify(message);
+    /**
+     * Resolves the recipients of each message, keyed by outbox id.
+     */
+    public Map<Integer, List<Notification>> notifyAll(List<OutboxMessage> messages) {
+        Map<Integer, List<Notification>> recipients = new HashMap<>();
+        for (OutboxMessage message : messages) {
+            recipients.put(message.id(), new ArrayList<>());
+        }
+        if (messages.isEmpty()) {
+            return recipients;
+        }
+        for (NotificationObserver observer : observers) {
+            long started = System.nanoTime();
+            observer.onNotifyBatch(messages, recipients);
+            timers.computeIfAbsent(observer.getClass(), k -> new ObserverTimer()).record(messages.size(), System.nanoTime() - started);
+        }
+        return recipients;
+    }
+
+    /**
+     * Messages handled and average time per batch for each observer type.
+     */
+    public List<ObserverStats> observerStats() {
+        List<ObserverStats> stats = new ArrayList<>();
+        timers.forEach((type, timer) -> stats.add(timer.snapshot(type.getSimpleName())));
+        return stats;
+    }
+
+    public record ObserverStats(String observer, long batches, long messages, double averageBatchMillis) {
+    }
+
+    private static final class ObserverTimer {
+        private final LongAdder batches = new LongAdder();
+        private final LongAdder messages = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        void record(int messageCount, long elapsedNanos) {
+            batches.increment();
+            messages.add(messageCount);
+            nanos.add(elapsedNanos);
+        }
+
+        ObserverStats snapshot(String name) {
+            long batchCount = batches.sum();
+            double average = batchCount == 0 ? 0 : nanos.sum() / 1_000_000.0 / batchCount;
+            return new ObserverStats(name, batchCount, messages.sum(), average);
         }
     }
 }
@@ -0,0 +1,7 @@
+package observer;
+
+/**
+ * New notifications were stored; subscribers poll for what is new to them.
+ */
+public record NotificationsChangedEvent() {
+}
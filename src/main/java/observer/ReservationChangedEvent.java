@@ -0,0 +1,4 @@
+package observer;
+
+public record ReservationChangedEvent(int reservationId) {
+}
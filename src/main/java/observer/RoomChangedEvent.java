@@ -0,0 +1,4 @@
+package observer;
+
+public record RoomChangedEvent(int roomId) {
+}
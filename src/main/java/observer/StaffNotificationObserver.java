@@ -1,18 +1,25 @@
 package observer;
 
-import dao.NotificationDAO;
+import model.Notification;
+import model.OutboxMessage;
 
-public class StaffNotificationObserver implements NotificationObserver {
-    private final int staffId;
-    private final NotificationDAO notificationDAO;
+import java.util.List;
 
-    public StaffNotificationObserver(int staffId, NotificationDAO notificationDAO) {
-        this.staffId = staffId;
-        this.notificationDAO = notificationDAO;
-    }
+/**
+ * Adds the staff member who acted to the recipients; the caller stores the message once
+ * for all of them. Broadcasts to all staff are an audience flag on the message instead.
+ */
+public class StaffNotificationObserver implements NotificationObserver {
 
     @Override
-    public void onNotify(String message) {
-        notificationDAO.create("staff", staffId, message);
+    public void onNotify(OutboxMessage message, List<Notification> recipients) {
+        Integer staffId = message.staffId();
+        if (staffId == null || staffId <= 0) {
+            return;
+        }
+        Notification notification = new Notification();
+        notification.setUserType("staff");
+        notification.setUserId(staffId);
+        recipients.add(notification);
     }
 }
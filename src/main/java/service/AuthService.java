@@ -2,33 +2,111 @@ package service;
 
 import dao.CustomerDAO;
 import dao.StaffDAO;
+import factory.DAOFactory;
 import model.user.Customer;
 import model.user.Staff;
 import util.HashUtil;
+import util.RateLimiter;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class AuthService {
 
+    private static final Logger LOGGER = Logger.getLogger(AuthService.class.getName());
+    // A login form tries staff then customer, so one attempt takes two tokens of each.
+    private static final RateLimiter IDENTIFIER_LIMITER = new RateLimiter(4096, 10, 10);
+    // Terminals named by the caller, e.g. kiosks served by one process.
+    private static final RateLimiter TERMINAL_LIMITER = new RateLimiter(256, 60, 120);
+    // Logins without a terminal: one bucket for this installation, sized for a single desk
+    // (10 attempts at once, then 10 a minute) to cap guessing across many identifiers.
+    private static final RateLimiter INSTALLATION_LIMITER = new RateLimiter(1, 20, 20);
+
     private final CustomerDAO customerDAO;
     private final StaffDAO staffDAO;
 
     public AuthService() {
-        this.customerDAO = new CustomerDAO();
-        this.staffDAO = new StaffDAO();
+        this.customerDAO = DAOFactory.customers();
+        this.staffDAO = DAOFactory.staff();
     }
 
+    /**
+     * Limited per identifier and for this installation as a whole.
+     */
     public Customer loginCustomer(String identifier, String rawPassword) {
-        Customer customer = customerDAO.findByIdentifier(identifier);
+        return loginCustomer(identifier, rawPassword, null);
+    }
+
+    /**
+     * @param terminal where the attempt comes from, e.g. a kiosk id; attempts are limited
+     *                 per identifier and per terminal, or for the installation when null
+     * @throws IllegalStateException when the attempt is throttled; no lookup or hashing is done then
+     */
+    public Customer loginCustomer(String identifier, String rawPassword, String terminal) {
+        throttle(identifier, terminal);
+        Customer customer = customerDAO.findByIdentifierForLogin(identifier);
         if (customer != null && customer.isActive() && HashUtil.isPasswordMatch(rawPassword, customer.getPasswordHash())) {
+            if (HashUtil.needsRehash(customer.getPasswordHash())) {
+                String upgraded = HashUtil.hashPassword(rawPassword);
+                if (upgradeHash(() -> customerDAO.replacePasswordHash(customer.getId(), customer.getPasswordHash(), upgraded))) {
+                    customer.setPasswordHash(upgraded);
+                }
+            }
             return customer;
         }
         return null;
     }
 
+    /**
+     * Limited per identifier and for this installation as a whole.
+     */
     public Staff loginStaff(String identifier, String rawPassword) {
+        return loginStaff(identifier, rawPassword, null);
+    }
+
+    /**
+     * Same limits as {@link #loginCustomer(String, String, String)}.
+     */
+    public Staff loginStaff(String identifier, String rawPassword, String terminal) {
+        throttle(identifier, terminal);
         Staff staff = staffDAO.findByIdentifier(identifier);
         if (staff != null && staff.isActive() && HashUtil.isPasswordMatch(rawPassword, staff.getPasswordHash())) {
+            if (HashUtil.needsRehash(staff.getPasswordHash())) {
+                String upgraded = HashUtil.hashPassword(rawPassword);
+                if (upgradeHash(() -> staffDAO.replacePasswordHash(staff.getId(), staff.getPasswordHash(), upgraded))) {
+                    staff.setPasswordHash(upgraded);
+                }
+            }
             return staff;
         }
         return null;
     }
+
+    private void throttle(String identifier, String terminal) {
+        String key = identifier == null ? "" : identifier.trim().toLowerCase(Locale.ROOT);
+        long waitNanos = IDENTIFIER_LIMITER.tryAcquire(key);
+        if (waitNanos == 0) {
+            waitNanos = terminal == null ? INSTALLATION_LIMITER.tryAcquire("") : TERMINAL_LIMITER.tryAcquire(terminal);
+        }
+        if (waitNanos > 0) {
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+            throw new IllegalStateException("Too many login attempts. Try again in " + seconds + " seconds.");
+        }
+    }
+
+    /**
+     * Stores a stronger hash after a successful login. A failure is logged and the login
+     * still succeeds; the upgrade is retried next time.
+     */
+    private boolean upgradeHash(BooleanSupplier update) {
+        try {
+            return update.getAsBoolean();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to upgrade password hash", e);
+            return false;
+        }
+    }
 }
@@ -2,26 +2,32 @@ package service;
 
 import builder.CustomerBuilder;
 import dao.CustomerDAO;
+import dao.JdbcCustomerDAO;
 import dao.NotificationDAO;
-import dao.StaffDAO;
+import database.TransactionTemplate;
+import factory.DAOFactory;
+import model.Page;
+import model.PageCursor;
 import model.user.Customer;
-import model.user.Staff;
+import observer.CustomerChangedEvent;
+import observer.EventBus;
+import observer.NotificationsChangedEvent;
 import util.HashUtil;
+import util.LruCache;
 
+import java.util.List;
 import java.util.regex.Pattern;
 
 public class CustomerService {
 
     private final CustomerDAO customerDAO;
     private final NotificationDAO notificationDAO;
-    private final StaffDAO staffDAO;
     private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
     private static final Pattern USERNAME_PATTERN = Pattern.compile("^[A-Za-z0-9_.-]{3,20}$");
 
     public CustomerService() {
-        this.customerDAO = new CustomerDAO();
-        this.notificationDAO = new NotificationDAO();
-        this.staffDAO = new StaffDAO();
+        this.customerDAO = DAOFactory.customers();
+        this.notificationDAO = DAOFactory.notifications();
     }
 
     public Customer register(String username, String firstName, String lastName, String email, String phone, String nationalId, String rawPassword) {
@@ -36,8 +42,11 @@ public class CustomerService {
                 .nationalId(nationalId)
                 .passwordHash(passwordHash)
                 .build();
-        customerDAO.create(customer);
-        notifyAdmins("New customer registered: #" + customer.getId() + " (" + customer.getUsername() + ")");
+        TransactionTemplate.run(() -> {
+            customerDAO.create(customer);
+            publishAfterCommit(customer.getId());
+            notifyAdmins("New customer registered: #" + customer.getId() + " (" + customer.getUsername() + ")");
+        });
         return customer;
     }
 
@@ -47,6 +56,7 @@ public class CustomerService {
 
     public void updateProfile(Customer customer) {
         customerDAO.update(customer);
+        publishAfterCommit(customer.getId());
     }
 
     public void changePassword(int id, String newRawPassword) {
@@ -60,21 +70,33 @@ public class CustomerService {
 
     public void deactivate(int id) {
         customerDAO.deactivate(id);
+        publishAfterCommit(id);
     }
 
     public void deleteAccount(int id) {
-        customerDAO.deleteAccount(id);
-        notifyAdmins("Customer #" + id + " account deleted");
+        TransactionTemplate.run(() -> {
+            customerDAO.deleteAccount(id);
+            publishAfterCommit(id);
+            notifyAdmins("Customer #" + id + " account deleted");
+        });
     }
 
     public Customer findByIdentifier(String identifier) {
         return customerDAO.findByIdentifier(identifier);
     }
 
+    public LruCache.Stats cacheStats() {
+        return JdbcCustomerDAO.cacheStats();
+    }
+
     public java.util.List<Customer> listCustomers() {
         return customerDAO.findAll();
     }
 
+    public Page<Customer> listCustomers(PageCursor after, int limit) {
+        return customerDAO.findPage(after, limit);
+    }
+
     public java.util.List<Customer> searchCustomers(String query) {
         if (query == null || query.isBlank()) {
             return customerDAO.findAll();
@@ -123,11 +145,12 @@ public class CustomerService {
         return value == null || value.isBlank();
     }
 
+    private void publishAfterCommit(int customerId) {
+        TransactionTemplate.afterCommit(() -> EventBus.getInstance().publish(new CustomerChangedEvent(customerId)));
+    }
+
     private void notifyAdmins(String message) {
-        for (Staff s : staffDAO.findAll()) {
-            if (s.isActive() && "admin".equalsIgnoreCase(s.getRole())) {
-                notificationDAO.create("staff", s.getId(), message);
-            }
-        }
+        notificationDAO.createMessage(message, false, true, List.of());
+        TransactionTemplate.afterCommit(() -> EventBus.getInstance().publish(new NotificationsChangedEvent()));
     }
 }
@@ -0,0 +1,236 @@
+package service;
+
+import dao.NotificationDAO;
+import dao.NotificationOutboxDAO;
+import database.TransactionTemplate;
+import factory.DAOFactory;
+import model.Notification;
+import model.OutboxMessage;
+import observer.CustomerNotificationObserver;
+import observer.EventBus;
+import observer.NotificationService;
+import observer.NotificationsChangedEvent;
+import observer.StaffNotificationObserver;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Delivers outbox messages written by {@link ReservationService} on a background thread,
+ * so a booking or check-in commits without waiting on notification writes. Each batch
+ * of messages is stored and marked processed in a single transaction. The
+ * outbox is polled periodically as well, which picks up messages left behind by a
+ * crash or written by another process. The outbox is the queue: it is durable, so
+ * producers never block or drop. When a batch fails, its messages are retried one at a
+ * time so only the failing ones are charged an attempt; a message is given up, and logged,
+ * after {@code MAX_ATTEMPTS} attempts.
+ */
+public final class NotificationDispatcher {
+
+    private static final Logger LOGGER = Logger.getLogger(NotificationDispatcher.class.getName());
+    private static final long POLL_INTERVAL_MS = 5_000;
+    private static final int BATCH_SIZE = 50;
+    private static final int MAX_ATTEMPTS = 5;
+
+    private static NotificationDispatcher instance;
+
+    private final NotificationOutboxDAO outboxDAO;
+    private final NotificationDAO notificationDAO;
+    private final NotificationService notifier;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong abandoned = new AtomicLong();
+    private final AtomicLong lastBatchNanos = new AtomicLong();
+    private final AtomicLong maxBatchNanos = new AtomicLong();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+
+    private NotificationDispatcher() {
+        this.outboxDAO = DAOFactory.outbox();
+        this.notificationDAO = DAOFactory.notifications();
+        this.notifier = new NotificationService();
+        notifier.registerObserver(new CustomerNotificationObserver());
+        notifier.registerObserver(new StaffNotificationObserver());
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "notification-dispatcher");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::wakeUp, POLL_INTERVAL_MS, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public static synchronized NotificationDispatcher getInstance() {
+        if (instance == null) {
+            instance = new NotificationDispatcher();
+        }
+        return instance;
+    }
+
+    /**
+     * Delivers whatever a previous run left in the outbox right away; polling continues
+     * in the background after that.
+     */
+    public void start() {
+        wakeUp();
+    }
+
+    /**
+     * Schedules a drain of the outbox unless one is already waiting to run.
+     */
+    public void wakeUp() {
+        if (drainQueued.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Current queue depth (one count query) and dispatch counters since startup.
+     */
+    public Metrics metrics() {
+        return new Metrics(
+                outboxDAO.countPending(MAX_ATTEMPTS),
+                dispatched.get(),
+                failedBatches.get(),
+                abandoned.get(),
+                lastBatchNanos.get() / 1_000_000.0,
+                maxBatchNanos.get() / 1_000_000.0,
+                lastLagMillis.get(),
+                notifier.observerStats());
+    }
+
+    private void drain() {
+        drainQueued.set(false);
+        try {
+            int batch;
+            do {
+                batch = dispatchBatch();
+            } while (batch == BATCH_SIZE);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Notification dispatch failed; will retry on the next poll", e);
+        }
+    }
+
+    private int dispatchBatch() {
+        List<OutboxMessage> claimed = new ArrayList<>();
+        long started = System.nanoTime();
+        try {
+            int count = TransactionTemplate.execute(() -> {
+                claimed.addAll(outboxDAO.claimPending(BATCH_SIZE, MAX_ATTEMPTS));
+                if (!claimed.isEmpty()) {
+                    deliverAll(claimed);
+                }
+                return claimed.size();
+            });
+            if (count > 0) {
+                recordBatch(claimed, System.nanoTime() - started);
+            }
+            return count;
+        } catch (RuntimeException e) {
+            if (claimed.isEmpty()) {
+                throw e;
+            }
+            failedBatches.incrementAndGet();
+            LOGGER.log(Level.WARNING, "Notification batch failed; retrying its messages one at a time", e);
+            return dispatchOneByOne(claimed, started);
+        }
+    }
+
+    /**
+     * Retries the messages of a failed batch in a transaction each. Returns 0 when any of
+     * them failed again, which ends the drain so the next attempt waits for the next poll.
+     */
+    private int dispatchOneByOne(List<OutboxMessage> batch, long started) {
+        List<OutboxMessage> delivered = new ArrayList<>();
+        boolean failed = false;
+        for (OutboxMessage message : batch) {
+            try {
+                boolean claimed = TransactionTemplate.execute(() -> {
+                    if (!outboxDAO.claim(message.id(), MAX_ATTEMPTS)) {
+                        return false;
+                    }
+                    deliverAll(List.of(message));
+                    return true;
+                });
+                if (claimed) {
+                    delivered.add(message);
+                }
+            } catch (RuntimeException e) {
+                failed = true;
+                recordFailure(message, e);
+            }
+        }
+        if (!delivered.isEmpty()) {
+            recordBatch(delivered, System.nanoTime() - started);
+        }
+        return failed ? 0 : batch.size();
+    }
+
+    private void deliverAll(List<OutboxMessage> messages) {
+        Map<Integer, List<Notification>> recipients = notifier.notifyAll(messages);
+        for (OutboxMessage message : messages) {
+            deliver(message, recipients.get(message.id()));
+        }
+        outboxDAO.markProcessed(messages);
+        TransactionTemplate.afterCommit(() -> EventBus.getInstance().publish(new NotificationsChangedEvent()));
+    }
+
+    private void recordFailure(OutboxMessage message, RuntimeException cause) {
+        try {
+            int attempts = outboxDAO.recordFailure(message);
+            if (attempts >= MAX_ATTEMPTS) {
+                abandoned.incrementAndGet();
+                LOGGER.log(Level.SEVERE, "Giving up on outbox message #" + message.id() + " after " + attempts
+                        + " attempts", cause);
+            } else {
+                LOGGER.log(Level.WARNING, "Outbox message #" + message.id() + " failed (attempt " + attempts + ")", cause);
+            }
+        } catch (RuntimeException failure) {
+            cause.addSuppressed(failure);
+            LOGGER.log(Level.WARNING, "Could not record the failure of outbox message #" + message.id(), cause);
+        }
+    }
+
+    private void recordBatch(List<OutboxMessage> batch, long elapsedNanos) {
+        dispatched.addAndGet(batch.size());
+        lastBatchNanos.set(elapsedNanos);
+        maxBatchNanos.accumulateAndGet(elapsedNanos, Math::max);
+        // Claimed oldest first, so the first message waited longest.
+        lastLagMillis.set(Duration.between(batch.get(0).createdAt(), Instant.now()).toMillis());
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Dispatched " + batch.size() + " notifications in " + elapsedNanos / 1_000_000 + " ms, oldest waited "
+                    + lastLagMillis.get() + " ms");
+        }
+    }
+
+    /**
+     * Stores one message: the observers add the direct recipients, broadcasts go to the
+     * all-staff audience and admins always see it.
+     */
+    private void deliver(OutboxMessage message, List<Notification> recipients) {
+        if (message.content() != null) {
+            notificationDAO.createMessage(message.content(), message.broadcastStaff(), true, recipients);
+        } else {
+            notificationDAO.createMessage(message.message(), message.broadcastStaff(), true, recipients);
+        }
+    }
+
+    /**
+     * Snapshot returned by {@link #metrics()}. {@code abandoned} counts messages given up
+     * after {@code MAX_ATTEMPTS}; {@code lastLagMillis} is how long the oldest message of
+     * the last batch waited in the outbox.
+     */
+    public record Metrics(int pending, long dispatched, long failedBatches, long abandoned, double lastBatchMillis,
+                          double maxBatchMillis, long lastLagMillis, List<NotificationService.ObserverStats> observers) {
+    }
+}
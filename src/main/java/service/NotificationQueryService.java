@@ -1,39 +1,137 @@
 package service;
 
 import dao.NotificationDAO;
+import database.TransactionTemplate;
+import factory.DAOFactory;
 import model.Notification;
+import model.NotificationReader;
+import model.Page;
+import model.PageCursor;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public class NotificationQueryService {
 
-    private final NotificationDAO notificationDAO = new NotificationDAO();
+    private final NotificationDAO notificationDAO = DAOFactory.notifications();
+    private final NotificationRenderer renderer = new NotificationRenderer();
+
+    /**
+     * Display text of the given notifications keyed by notification id.
+     */
+    public Map<Integer, String> renderMessages(List<Notification> notifications) {
+        return renderer.render(notifications);
+    }
+
+    /**
+     * Every notification about the reservation, in the shape of {@link #listAll()}.
+     */
+    public List<Notification> listForReservation(int reservationId) {
+        return notificationDAO.findByReservation(reservationId);
+    }
 
     public List<Notification> listForStaff(int staffId) {
-        return notificationDAO.findForUser("staff", staffId);
+        return notificationDAO.findForUser(staff(staffId));
     }
 
     public List<Notification> listForCustomer(int customerId) {
-        return notificationDAO.findForUser("customer", customerId);
+        return notificationDAO.findForUser(NotificationReader.customer(customerId));
+    }
+
+    public List<Notification> listForStaffSince(int staffId, int afterId) {
+        return notificationDAO.findForUserSince(staff(staffId), afterId);
+    }
+
+    public List<Notification> listForCustomerSince(int customerId, int afterId) {
+        return notificationDAO.findForUserSince(NotificationReader.customer(customerId), afterId);
+    }
+
+    public int countUnreadForStaff(int staffId) {
+        return notificationDAO.countUnreadForUser(staff(staffId));
+    }
+
+    public int countUnreadForCustomer(int customerId) {
+        return notificationDAO.countUnreadForUser(NotificationReader.customer(customerId));
+    }
+
+    public Page<Notification> listArchivedForStaff(int staffId, PageCursor after, int limit) {
+        return notificationDAO.findArchivedPageForUser(staff(staffId), after, limit);
+    }
+
+    public Page<Notification> listArchivedForCustomer(int customerId, PageCursor after, int limit) {
+        return notificationDAO.findArchivedPageForUser(NotificationReader.customer(customerId), after, limit);
+    }
+
+    public Page<Notification> listForStaff(int staffId, PageCursor after, int limit) {
+        return notificationDAO.findPageForUser(staff(staffId), after, limit);
+    }
+
+    public Page<Notification> listForCustomer(int customerId, PageCursor after, int limit) {
+        return notificationDAO.findPageForUser(NotificationReader.customer(customerId), after, limit);
+    }
+
+    public void markAsReadForStaff(int staffId, int notificationId) {
+        notificationDAO.markAsRead(staff(staffId), notificationId);
+    }
+
+    public void markAsReadForCustomer(int customerId, int notificationId) {
+        notificationDAO.markAsRead(NotificationReader.customer(customerId), notificationId);
     }
 
+    public void markAsReadForStaff(int staffId, Collection<Integer> notificationIds) {
+        TransactionTemplate.run(() -> notificationDAO.markAsRead(staff(staffId), notificationIds));
+    }
+
+    public void markAsReadForCustomer(int customerId, Collection<Integer> notificationIds) {
+        TransactionTemplate.run(() -> notificationDAO.markAsRead(NotificationReader.customer(customerId), notificationIds));
+    }
+
+    /**
+     * Marks the notification read for every direct recipient (admin overview).
+     */
     public void markAsRead(int notificationId) {
         notificationDAO.markAsRead(notificationId);
     }
 
+    public void markAsRead(Collection<Integer> notificationIds) {
+        notificationDAO.markAsRead(notificationIds);
+    }
+
     public List<Notification> listAll() {
         return notificationDAO.findAll();
     }
 
+    public Page<Notification> listAll(PageCursor after, int limit) {
+        return notificationDAO.findPage(after, limit);
+    }
+
+    public List<Notification> listAllSince(int afterId) {
+        return notificationDAO.findSince(afterId);
+    }
+
+    public int countUnreadAll() {
+        return notificationDAO.countUnread();
+    }
+
     public void markAllAsReadAll() {
         notificationDAO.markAllAsRead();
     }
 
     public void markAllAsReadForStaff(int staffId) {
-        notificationDAO.markAllAsRead("staff", staffId);
+        TransactionTemplate.run(() -> notificationDAO.markAllAsRead(staff(staffId)));
     }
 
     public void markAllAsReadForCustomer(int customerId) {
-        notificationDAO.markAllAsRead("customer", customerId);
+        TransactionTemplate.run(() -> notificationDAO.markAllAsRead(NotificationReader.customer(customerId)));
+    }
+
+    /**
+     * Admins also read the messages sent to all admins; audience messages from before the
+     * staff member joined are left out.
+     */
+    private NotificationReader staff(int staffId) {
+        StaffDirectory directory = StaffDirectory.getInstance();
+        return NotificationReader.staff(staffId, directory.activeAdminIds().contains(staffId), directory.joinedAt(staffId));
     }
 }
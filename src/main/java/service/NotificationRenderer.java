@@ -0,0 +1,69 @@
+package service;
+
+import dao.ReservationDAO;
+import factory.DAOFactory;
+import model.Notification;
+import model.NotificationContent;
+import model.reservation.ReservationSummary;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds the display text of notifications. Templated notifications store only ids and
+ * dates, so the reservations they mention are loaded with one query per call and staff
+ * names come from {@link StaffDirectory}. Plain-text notifications are shown as stored.
+ */
+public class NotificationRenderer {
+
+    private final ReservationDAO reservationDAO;
+
+    public NotificationRenderer() {
+        this.reservationDAO = DAOFactory.reservations();
+    }
+
+    /**
+     * Display text keyed by notification id.
+     */
+    public Map<Integer, String> render(Collection<Notification> notifications) {
+        Set<Integer> reservationIds = new HashSet<>();
+        for (Notification n : notifications) {
+            if (n.getContent() != null) {
+                reservationIds.add(n.getContent().reservationId());
+            }
+        }
+        Map<Integer, ReservationSummary> reservations = reservationDAO.findSummariesByIds(reservationIds);
+        Map<Integer, String> texts = new HashMap<>();
+        for (Notification n : notifications) {
+            NotificationContent content = n.getContent();
+            texts.computeIfAbsent(n.getId(), id -> content == null
+                    ? n.getMessage()
+                    : render(content, reservations.get(content.reservationId())));
+        }
+        return texts;
+    }
+
+    private String render(NotificationContent content, ReservationSummary reservation) {
+        String customer = reservation == null ? "customer" : reservation.guestName();
+        String actor = content.actorId() == null ? customer : describeStaff(content.actorId());
+        String room = reservation == null
+                ? "room#" + content.roomId()
+                : "room " + reservation.roomNumber() + " (" + reservation.roomType() + ")";
+        return content.template().getAction() + " " + actor
+                + " • Reservation #" + content.reservationId()
+                + " • " + room
+                + " • " + content.startDate() + " → " + content.endDate()
+                + " • customer " + customer;
+    }
+
+    private String describeStaff(int staffId) {
+        if (staffId <= 0) {
+            return "staff";
+        }
+        String name = StaffDirectory.getInstance().displayName(staffId);
+        return name == null ? "staff#" + staffId : name;
+    }
+}
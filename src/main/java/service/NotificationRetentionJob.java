@@ -0,0 +1,111 @@
+package service;
+
+import dao.NotificationDAO;
+import dao.NotificationOutboxDAO;
+import database.TransactionTemplate;
+import factory.DAOFactory;
+import util.Settings;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Moves read notifications older than {@code NOTIFICATION_RETENTION_DAYS} (default 90)
+ * into the archive tables once a day, so the hot tables and their indexes stay small.
+ * Each batch of {@code NOTIFICATION_ARCHIVE_BATCH_SIZE} (default 500) messages is moved
+ * in its own short transaction to keep lock times bounded. Outbox messages delivered more
+ * than {@code NOTIFICATION_OUTBOX_RETENTION_DAYS} (default 7) ago are deleted in the same
+ * run, in batches of the same size.
+ */
+public final class NotificationRetentionJob {
+
+    private static final Logger LOGGER = Logger.getLogger(NotificationRetentionJob.class.getName());
+    private static final long INITIAL_DELAY_MINUTES = 1;
+    private static final long INTERVAL_HOURS = 24;
+
+    private static NotificationRetentionJob instance;
+
+    private final int retentionDays;
+    private final int outboxRetentionDays;
+    private final int batchSize;
+    private ScheduledExecutorService executor;
+
+    private NotificationRetentionJob() {
+        this.retentionDays = Settings.intSetting("NOTIFICATION_RETENTION_DAYS", 90);
+        this.outboxRetentionDays = Settings.intSetting("NOTIFICATION_OUTBOX_RETENTION_DAYS", 7);
+        this.batchSize = Settings.intSetting("NOTIFICATION_ARCHIVE_BATCH_SIZE", 500);
+    }
+
+    public static synchronized NotificationRetentionJob getInstance() {
+        if (instance == null) {
+            instance = new NotificationRetentionJob();
+        }
+        return instance;
+    }
+
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "notification-retention");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::runSafely, INITIAL_DELAY_MINUTES, INTERVAL_HOURS * 60, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Archives everything currently eligible and returns the number of messages moved.
+     */
+    public int archiveNow() {
+        NotificationDAO notificationDAO = DAOFactory.notifications();
+        Instant cutoff = Instant.now().minus(Duration.ofDays(retentionDays));
+        int total = 0;
+        int moved;
+        do {
+            moved = TransactionTemplate.execute(() -> notificationDAO.archiveBatch(cutoff, batchSize));
+            total += moved;
+        } while (moved == batchSize);
+        return total;
+    }
+
+    /**
+     * Deletes delivered outbox messages past their retention and returns how many.
+     */
+    public int purgeOutboxNow() {
+        NotificationOutboxDAO outboxDAO = DAOFactory.outbox();
+        Instant cutoff = Instant.now().minus(Duration.ofDays(outboxRetentionDays));
+        int total = 0;
+        int deleted;
+        do {
+            deleted = outboxDAO.purgeProcessed(cutoff, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+
+    private void runSafely() {
+        try {
+            int archived = archiveNow();
+            if (archived > 0) {
+                LOGGER.info("Archived " + archived + " notifications older than " + retentionDays + " days");
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Notification archiving failed", e);
+        }
+        try {
+            int purged = purgeOutboxNow();
+            if (purged > 0) {
+                LOGGER.info("Deleted " + purged + " outbox messages delivered more than " + outboxRetentionDays + " days ago");
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Outbox purge failed", e);
+        }
+    }
+}
@@ -1,42 +1,50 @@
 package service;
 
-import dao.NotificationDAO;
+import dao.NotificationOutboxDAO;
+import database.TransactionTemplate;
 import dao.ReservationActionDAO;
 import dao.ReservationDAO;
 import dao.RoomDAO;
-import dao.StaffDAO;
+import factory.DAOFactory;
+import model.NotificationContent;
+import model.NotificationTemplate;
+import model.Page;
+import model.PageCursor;
 import model.reservation.Reservation;
+import model.reservation.ReservationSummary;
 import model.room.Room;
 import model.user.Customer;
-import model.user.Staff;
-import observer.CustomerNotificationObserver;
-import observer.NotificationService;
-import observer.StaffNotificationObserver;
+import observer.EventBus;
+import observer.ReservationChangedEvent;
+import observer.RoomChangedEvent;
 import strategy.DefaultPricingStrategy;
 import strategy.PricingStrategy;
+import util.StripedLock;
 import state.PendingState;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 public class ReservationService {
 
+    private static final StripedLock ROOM_LOCKS = new StripedLock(64);
+
     private final ReservationDAO reservationDAO;
     private final ReservationActionDAO actionDAO;
-    private final NotificationDAO notificationDAO;
+    private final NotificationOutboxDAO outboxDAO;
     private final RoomDAO roomDAO;
-    private final StaffDAO staffDAO;
     private PricingStrategy pricingStrategy;
 
     public ReservationService() {
-        this.reservationDAO = new ReservationDAO();
-        this.actionDAO = new ReservationActionDAO();
-        this.notificationDAO = new NotificationDAO();
-        this.roomDAO = new RoomDAO();
-        this.staffDAO = new StaffDAO();
+        this(DAOFactory.reservations(), DAOFactory.reservationActions(), DAOFactory.outbox(), DAOFactory.rooms());
+    }
+
+    ReservationService(ReservationDAO reservationDAO, ReservationActionDAO actionDAO, NotificationOutboxDAO outboxDAO, RoomDAO roomDAO) {
+        this.reservationDAO = reservationDAO;
+        this.actionDAO = actionDAO;
+        this.outboxDAO = outboxDAO;
+        this.roomDAO = roomDAO;
         this.pricingStrategy = new DefaultPricingStrategy();
     }
 
@@ -58,6 +66,17 @@ public class ReservationService {
         if (room.getCapacity() <= 0) {
             throw new IllegalArgumentException("Room capacity is invalid");
         }
+        // The striped lock serializes bookings of the same room inside this process and is
+        // held until commit; the row lock covers other processes sharing the database.
+        return ROOM_LOCKS.withLock(room.getId(),
+                () -> TransactionTemplate.execute(() -> book(customer, room, start, end, staffId)));
+    }
+
+    private Reservation book(Customer customer, Room room, LocalDate start, LocalDate end, Integer staffId) {
+        // Lock first: the overlap query below then reads after any competing booking has committed.
+        if (!roomDAO.lockForUpdate(room.getId())) {
+            throw new IllegalArgumentException("Room not found.");
+        }
         Reservation overlap = reservationDAO.findFirstOverlapForRoom(room.getId(), start, end);
         if (overlap != null) {
             throw new IllegalStateException("Room is not available for the selected dates (overlaps reservation #" + overlap.getReservationId() + ").");
@@ -77,82 +96,105 @@ public class ReservationService {
 
         reservationDAO.create(reservation);
         roomDAO.updateStatus(room.getId(), "reserved");
-        String actor = staffId != null ? describeStaff(staffId) : describeCustomer(customer);
-        String message = "Created by " + actor + " • " + reservationSummary(reservation);
-        notifyUsers(reservation, staffId, message, true);
+        publishAfterCommit(reservation, true);
+        notifyUsers(reservation, staffId, NotificationTemplate.RESERVATION_CREATED, true);
         return reservation;
     }
 
     public void cancelReservationByCustomer(int reservationId, int customerId) {
-        Reservation reservation = reservationDAO.findById(reservationId);
-        if (reservation == null || reservation.getCustomer() == null || reservation.getCustomer().getId() != customerId) {
-            throw new IllegalArgumentException("Reservation not found for this customer.");
-        }
-        ensureCancelable(reservation);
-        cancel(reservation, null);
+        TransactionTemplate.run(() -> {
+            Reservation reservation = reservationDAO.findById(reservationId);
+            if (reservation == null || reservation.getCustomer() == null || reservation.getCustomer().getId() != customerId) {
+                throw new IllegalArgumentException("Reservation not found for this customer.");
+            }
+            ensureCancelable(reservation);
+            cancel(reservation, null);
+        });
     }
 
     public void cancelReservation(int reservationId, int staffId) {
-        Reservation reservation = reservationDAO.findById(reservationId);
-        if (reservation == null) {
-            return;
-        }
-        ensureCancelable(reservation);
-        cancel(reservation, staffId);
+        TransactionTemplate.run(() -> {
+            Reservation reservation = reservationDAO.findById(reservationId);
+            if (reservation == null) {
+                return;
+            }
+            ensureCancelable(reservation);
+            cancel(reservation, staffId);
+        });
     }
 
     public void checkIn(int reservationId, int staffId) {
-        Reservation reservation = reservationDAO.findById(reservationId);
-        if (reservation == null) {
-            return;
-        }
-        ensureCheckInAllowed(reservation);
-        reservation.checkIn();
-        persistState(reservation);
-        actionDAO.logCheckIn(reservationId, staffId);
-        roomDAO.updateStatus(reservation.getRoom().getId(), "occupied");
-        notifyUsers(reservation, staffId, "Check-in by " + describeStaff(staffId) + " • " + reservationSummary(reservation), false);
+        TransactionTemplate.run(() -> {
+            Reservation reservation = reservationDAO.findById(reservationId);
+            if (reservation == null) {
+                return;
+            }
+            ensureCheckInAllowed(reservation);
+            reservation.checkIn();
+            persistState(reservation);
+            actionDAO.logCheckIn(reservationId, staffId);
+            roomDAO.updateStatus(reservation.getRoom().getId(), "occupied");
+            publishAfterCommit(reservation, true);
+            notifyUsers(reservation, staffId, NotificationTemplate.RESERVATION_CHECKED_IN, false);
+        });
     }
 
     public void checkOut(int reservationId, int staffId) {
-        Reservation reservation = reservationDAO.findById(reservationId);
-        if (reservation == null) {
-            return;
-        }
-        ensureCheckedIn(reservation);
-        reservation.checkOut();
-        persistState(reservation);
-        reservationDAO.updatePaymentStatus(reservationId, "paid");
-        actionDAO.logCheckOut(reservationId, staffId);
-        roomDAO.updateStatus(reservation.getRoom().getId(), "available");
-        notifyUsers(reservation, staffId, "Check-out by " + describeStaff(staffId) + " • " + reservationSummary(reservation), false);
+        TransactionTemplate.run(() -> {
+            Reservation reservation = reservationDAO.findById(reservationId);
+            if (reservation == null) {
+                return;
+            }
+            ensureCheckedIn(reservation);
+            reservation.checkOut();
+            persistState(reservation);
+            reservationDAO.updatePaymentStatus(reservationId, "paid");
+            actionDAO.logCheckOut(reservationId, staffId);
+            roomDAO.updateStatus(reservation.getRoom().getId(), "available");
+            publishAfterCommit(reservation, true);
+            notifyUsers(reservation, staffId, NotificationTemplate.RESERVATION_CHECKED_OUT, false);
+        });
     }
 
     public void markPaid(int reservationId, int staffId) {
-        Reservation reservation = reservationDAO.findById(reservationId);
-        if (reservation == null) {
-            throw new IllegalArgumentException("Reservation not found.");
-        }
-        if ("paid".equals(reservation.getPaymentStatus())) {
-            return;
-        }
-        reservationDAO.updatePaymentStatus(reservationId, "paid");
-        notifyUsers(reservation, staffId, "Payment marked PAID by " + describeStaff(staffId) + " • " + reservationSummary(reservation), false);
+        TransactionTemplate.run(() -> {
+            Reservation reservation = reservationDAO.findById(reservationId);
+            if (reservation == null) {
+                throw new IllegalArgumentException("Reservation not found.");
+            }
+            if ("paid".equals(reservation.getPaymentStatus())) {
+                return;
+            }
+            reservationDAO.updatePaymentStatus(reservationId, "paid");
+            publishAfterCommit(reservation, false);
+            notifyUsers(reservation, staffId, NotificationTemplate.PAYMENT_PAID, false);
+        });
     }
 
     public void refund(int reservationId, int staffId) {
-        Reservation reservation = reservationDAO.findById(reservationId);
-        if (reservation == null) {
-            throw new IllegalArgumentException("Reservation not found.");
-        }
-        reservationDAO.updatePaymentStatus(reservationId, "refunded");
-        notifyUsers(reservation, staffId, "Payment REFUNDED by " + describeStaff(staffId) + " • " + reservationSummary(reservation), false);
+        TransactionTemplate.run(() -> {
+            Reservation reservation = reservationDAO.findById(reservationId);
+            if (reservation == null) {
+                throw new IllegalArgumentException("Reservation not found.");
+            }
+            reservationDAO.updatePaymentStatus(reservationId, "refunded");
+            publishAfterCommit(reservation, false);
+            notifyUsers(reservation, staffId, NotificationTemplate.PAYMENT_REFUNDED, false);
+        });
+    }
+
+    public ReservationSummary findReservationSummary(int reservationId) {
+        return reservationDAO.findSummaryById(reservationId);
     }
 
     public List<Reservation> listReservations() {
         return reservationDAO.findAll();
     }
 
+    public Page<Reservation> listReservations(PageCursor after, int limit) {
+        return reservationDAO.findPage(after, limit);
+    }
+
     public List<Reservation> listReservationsByCustomer(int customerId) {
         return reservationDAO.findByCustomer(customerId);
     }
@@ -161,10 +203,26 @@ public class ReservationService {
         return reservationDAO.findHistoryByCustomer(customerId);
     }
 
+    public List<ReservationSummary> listReservationSummariesByCustomer(int customerId) {
+        return reservationDAO.findSummariesByCustomer(customerId);
+    }
+
+    public List<ReservationSummary> listReservationSummaryHistoryByCustomer(int customerId) {
+        return reservationDAO.findSummaryHistoryByCustomer(customerId);
+    }
+
     public List<Reservation> listReservationsByFilter(String customerFilter, String roomFilter, java.time.LocalDate startDate, java.time.LocalDate endDate) {
         return reservationDAO.findByFilters(customerFilter, roomFilter, startDate, endDate);
     }
 
+    public Page<Reservation> listReservationsByFilter(String customerFilter, String roomFilter, LocalDate startDate, LocalDate endDate, PageCursor after, int limit) {
+        return reservationDAO.findPageByFilters(customerFilter, roomFilter, startDate, endDate, after, limit);
+    }
+
+    public Page<ReservationSummary> listReservationSummariesByFilter(String customerFilter, String roomFilter, LocalDate startDate, LocalDate endDate, PageCursor after, int limit) {
+        return reservationDAO.findSummaryPageByFilters(customerFilter, roomFilter, startDate, endDate, after, limit);
+    }
+
     private void cancel(Reservation reservation, Integer staffId) {
         reservation.cancel();
         persistState(reservation);
@@ -173,8 +231,8 @@ public class ReservationService {
         }
         actionDAO.logCancel(reservation.getReservationId(), staffId);
         roomDAO.updateStatus(reservation.getRoom().getId(), "available");
-        String actor = staffId == null ? describeCustomer(reservation.getCustomer()) : describeStaff(staffId);
-        notifyUsers(reservation, staffId == null ? 0 : staffId, "Canceled by " + actor + " • " + reservationSummary(reservation), false);
+        publishAfterCommit(reservation, true);
+        notifyUsers(reservation, staffId, NotificationTemplate.RESERVATION_CANCELED, false);
     }
 
     private void ensureCancelable(Reservation reservation) {
@@ -205,68 +263,33 @@ public class ReservationService {
         reservationDAO.updateStatus(reservation.getReservationId(), reservation.getCurrentState().getName());
     }
 
-    private void notifyUsers(Reservation reservation, Integer staffId, String message, boolean broadcastStaff) {
-        NotificationService notifier = new NotificationService();
-        notifier.registerObserver(new CustomerNotificationObserver(reservation.getCustomer().getId(), notificationDAO));
-        Set<Integer> staffTargets = new HashSet<>();
-        if (broadcastStaff || (staffId != null && staffId > 0)) {
-            for (Staff s : staffDAO.findAll()) {
-                if (!s.isActive()) {
-                    continue;
-                }
-                if (!broadcastStaff && (staffId == null || s.getId() != staffId)) {
-                    continue;
-                }
-                staffTargets.add(s.getId());
-            }
-        }
-        if (staffId != null && staffId > 0) {
-            staffTargets.add(staffId);
-        }
-        for (Staff s : staffDAO.findAll()) {
-            if (s.isActive() && "admin".equalsIgnoreCase(s.getRole())) {
-                staffTargets.add(s.getId());
+    private void publishAfterCommit(Reservation reservation, boolean roomChanged) {
+        int reservationId = reservation.getReservationId();
+        Room room = roomChanged ? reservation.getRoom() : null;
+        TransactionTemplate.afterCommit(() -> {
+            EventBus bus = EventBus.getInstance();
+            bus.publish(new ReservationChangedEvent(reservationId));
+            if (room != null) {
+                bus.publish(new RoomChangedEvent(room.getId()));
             }
-        }
-        for (Integer id : staffTargets) {
-            notifier.registerObserver(new StaffNotificationObserver(id, notificationDAO));
-        }
-        notifier.notifyAll(message);
-    }
-
-    private String describeStaff(Integer staffId) {
-        if (staffId == null || staffId <= 0) {
-            return "staff";
-        }
-        Staff staff = staffDAO.findById(staffId);
-        if (staff == null) {
-            return "staff#" + staffId;
-        }
-        String name = staff.getDisplayName();
-        if (name == null || name.isBlank()) {
-            name = staff.getUsername();
-        }
-        return name == null || name.isBlank() ? "staff#" + staffId : name;
-    }
-
-    private String describeCustomer(Customer customer) {
-        if (customer == null) {
-            return "customer";
-        }
-        String name = customer.getDisplayName();
-        if (name == null || name.isBlank()) {
-            name = customer.getUsername();
-        }
-        if (name == null || name.isBlank()) {
-            name = "customer#" + customer.getId();
-        }
-        return name;
+        });
     }
 
-    private String reservationSummary(Reservation reservation) {
-        String room = reservation.getRoom() == null ? "-" : "room " + reservation.getRoom().getRoomNumber() + " (" + reservation.getRoom().getType() + ")";
-        String dates = reservation.getStartDate() + " → " + reservation.getEndDate();
-        String customer = describeCustomer(reservation.getCustomer());
-        return "Reservation #" + reservation.getReservationId() + " • " + room + " • " + dates + " • customer " + customer;
+    /**
+     * Writes one outbox message in the current transaction; {@link NotificationDispatcher}
+     * resolves the recipients and delivers it after commit. Only the template and ids are
+     * stored; {@link NotificationRenderer} builds the text when it is displayed.
+     */
+    private void notifyUsers(Reservation reservation, Integer staffId, NotificationTemplate template, boolean broadcastStaff) {
+        Integer actorId = staffId != null && staffId > 0 ? staffId : null;
+        NotificationContent content = new NotificationContent(
+                template,
+                reservation.getReservationId(),
+                reservation.getRoom().getId(),
+                actorId,
+                reservation.getStartDate(),
+                reservation.getEndDate());
+        outboxDAO.enqueue(reservation.getCustomer().getId(), actorId, broadcastStaff, content);
+        TransactionTemplate.afterCommit(() -> NotificationDispatcher.getInstance().wakeUp());
     }
 }
@@ -1,24 +1,25 @@
 package service;
 
 import dao.RoomDAO;
+import factory.DAOFactory;
 import factory.RoomFactory;
 import model.room.Room;
 import model.room.RoomAvailabilityInfo;
-import dao.ReservationDAO;
+import observer.EventBus;
+import observer.RoomChangedEvent;
 import model.reservation.Reservation;
 
 import java.util.List;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Map;
 
 public class RoomService {
 
     private final RoomDAO roomDAO;
-    private final ReservationDAO reservationDAO;
 
     public RoomService() {
-        this.roomDAO = new RoomDAO();
-        this.reservationDAO = new ReservationDAO();
+        this.roomDAO = DAOFactory.rooms();
     }
 
     public Room addRoom(String roomNumber, String type, int capacity, double pricePerNight) {
@@ -27,9 +28,14 @@ public class RoomService {
         room.setCapacity(capacity);
         room.setPricePerNight(pricePerNight);
         roomDAO.create(room);
+        EventBus.getInstance().publish(new RoomChangedEvent(room.getId()));
         return room;
     }
 
+    public Room findRoom(int roomId) {
+        return roomDAO.findById(roomId);
+    }
+
     public List<Room> listRooms() {
         return roomDAO.findAll();
     }
@@ -39,10 +45,11 @@ public class RoomService {
     }
 
     public List<RoomAvailabilityInfo> searchWithAvailability(String type, int capacity, LocalDate startDate, LocalDate endDate) {
-        List<Room> rooms = roomDAO.searchAllByTypeAndCapacity(type, capacity);
+        Map<Room, Reservation> rooms = roomDAO.searchWithFirstOverlap(type, capacity, startDate, endDate);
         List<RoomAvailabilityInfo> results = new ArrayList<>();
-        for (Room room : rooms) {
-            Reservation overlap = reservationDAO.findFirstOverlapForRoom(room.getId(), startDate, endDate);
+        for (Map.Entry<Room, Reservation> entry : rooms.entrySet()) {
+            Room room = entry.getKey();
+            Reservation overlap = entry.getValue();
             String label = availabilityLabel(room, overlap);
             boolean bookable = overlap == null && isRoomBookableByStatus(room.getStatus());
             results.add(new RoomAvailabilityInfo(room, label, bookable, overlap));
@@ -67,5 +74,6 @@ public class RoomService {
 
     public void updateStatus(int roomId, String status) {
         roomDAO.updateStatus(roomId, status);
+        EventBus.getInstance().publish(new RoomChangedEvent(roomId));
     }
 }
@@ -0,0 +1,124 @@
+package service;
+
+import dao.StaffDAO;
+import factory.DAOFactory;
+import model.user.Staff;
+import util.Settings;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cached view of the staff table used when addressing and labelling notifications:
+ * active staff ids, active admin ids, join times and display names. It is loaded on first
+ * use and dropped by {@link StaffService} after it creates or deactivates a staff member.
+ * Changes made by other processes or straight in the table are picked up when it is
+ * reloaded, at most {@code STAFF_DIRECTORY_TTL_SECONDS} (default 30) after loading.
+ */
+public final class StaffDirectory {
+
+    private static final long TTL_NANOS = Duration.ofSeconds(Settings.intSetting("STAFF_DIRECTORY_TTL_SECONDS", 30)).toNanos();
+    private static StaffDirectory instance;
+
+    private final StaffDAO staffDAO;
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    private StaffDirectory() {
+        this.staffDAO = DAOFactory.staff();
+    }
+
+    public static synchronized StaffDirectory getInstance() {
+        if (instance == null) {
+            instance = new StaffDirectory();
+        }
+        return instance;
+    }
+
+    public Set<Integer> activeStaffIds() {
+        return snapshot().activeIds();
+    }
+
+    public Set<Integer> activeAdminIds() {
+        return snapshot().adminIds();
+    }
+
+    /**
+     * Display name, falling back to the username; null for an unknown id.
+     */
+    public String displayName(int staffId) {
+        return snapshot().names().get(staffId);
+    }
+
+    /**
+     * When the staff member was created; null for an unknown id.
+     */
+    public Instant joinedAt(int staffId) {
+        return snapshot().joinedAt().get(staffId);
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (isFresh(current)) {
+                return current;
+            }
+            long loadedVersion = version.get();
+            current = load();
+            // An invalidation during the load means the rows read may already be stale.
+            if (version.get() == loadedVersion) {
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private static boolean isFresh(Snapshot snapshot) {
+        return snapshot != null && System.nanoTime() - snapshot.loadedAt() < TTL_NANOS;
+    }
+
+    private Snapshot load() {
+        Set<Integer> activeIds = new HashSet<>();
+        Set<Integer> adminIds = new HashSet<>();
+        Map<Integer, String> names = new HashMap<>();
+        Map<Integer, Instant> joinedAt = new HashMap<>();
+        long loadedAt = System.nanoTime();
+        for (Staff staff : staffDAO.findAll()) {
+            if (staff.isActive()) {
+                activeIds.add(staff.getId());
+                if ("admin".equalsIgnoreCase(staff.getRole())) {
+                    adminIds.add(staff.getId());
+                }
+            }
+            if (staff.getCreatedAt() != null) {
+                joinedAt.put(staff.getId(), staff.getCreatedAt());
+            }
+            String name = staff.getDisplayName();
+            if (name == null || name.isBlank()) {
+                name = staff.getUsername();
+            }
+            if (name != null && !name.isBlank()) {
+                names.put(staff.getId(), name);
+            }
+        }
+        return new Snapshot(Set.copyOf(activeIds), Set.copyOf(adminIds), Map.copyOf(names), Map.copyOf(joinedAt), loadedAt);
+    }
+
+    private record Snapshot(Set<Integer> activeIds, Set<Integer> adminIds, Map<Integer, String> names,
+                            Map<Integer, Instant> joinedAt, long loadedAt) {
+    }
+}
@@ -1,6 +1,10 @@
 package service;
 
 import dao.StaffDAO;
+import database.TransactionTemplate;
+import factory.DAOFactory;
+import model.Page;
+import model.PageCursor;
 import model.user.Staff;
 import util.HashUtil;
 
@@ -14,13 +18,14 @@ public class StaffService {
     private static final Pattern USERNAME_PATTERN = Pattern.compile("^[A-Za-z0-9_.-]{3,20}$");
 
     public StaffService() {
-        this.staffDAO = new StaffDAO();
+        this.staffDAO = DAOFactory.staff();
     }
 
     public Staff register(String username, String firstName, String lastName, String email, String nationalId, String role, String rawPassword) {
         validateRegistration(username, firstName, lastName, email, nationalId, role, rawPassword);
         Staff staff = new Staff(username, firstName, lastName, email, nationalId, HashUtil.hashPassword(rawPassword), role);
         staffDAO.create(staff);
+        invalidateDirectory();
         return staff;
     }
 
@@ -28,6 +33,10 @@ public class StaffService {
         return staffDAO.findAll();
     }
 
+    public Page<Staff> listStaff(PageCursor after, int limit) {
+        return staffDAO.findPage(after, limit);
+    }
+
     public List<Staff> searchStaff(String term) {
         if (term == null || term.isBlank()) {
             return staffDAO.findAll();
@@ -37,6 +46,7 @@ public class StaffService {
 
     public void deactivate(int id) {
         staffDAO.deactivate(id);
+        invalidateDirectory();
     }
 
     public Staff findByIdentifier(String identifier) {
@@ -77,6 +87,10 @@ public class StaffService {
         }
     }
 
+    private void invalidateDirectory() {
+        TransactionTemplate.afterCommit(() -> StaffDirectory.getInstance().invalidate());
+    }
+
     private boolean isBlank(String value) {
         return value == null || value.isBlank();
     }
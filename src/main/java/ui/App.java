@@ -1,11 +1,16 @@
 package ui;
 
+import service.NotificationDispatcher;
+import service.NotificationRetentionJob;
+
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 import javax.swing.UnsupportedLookAndFeelException;
 
 public class App {
     public static void main(String[] args) {
+        NotificationRetentionJob.getInstance().start();
+        NotificationDispatcher.getInstance().start();
         SwingUtilities.invokeLater(() -> {
             try {
                 UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
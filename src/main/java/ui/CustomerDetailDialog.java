@@ -1,6 +1,6 @@
 package ui;
 
-import model.reservation.Reservation;
+import model.reservation.ReservationSummary;
 import model.user.Customer;
 import service.ReservationService;
 
@@ -59,23 +59,23 @@ public class CustomerDetailDialog extends JDialog {
     private void loadReservations(Customer customer, ReservationService reservationService) {
         reservationsModel.clear();
         historyModel.clear();
-        List<Reservation> reservations = reservationService.listReservationsByCustomer(customer.getId());
-        for (Reservation res : reservations) {
+        List<ReservationSummary> reservations = reservationService.listReservationSummariesByCustomer(customer.getId());
+        for (ReservationSummary res : reservations) {
             reservationsModel.addElement(formatReservation(res));
         }
-        List<Reservation> history = reservationService.listReservationHistoryByCustomer(customer.getId());
-        for (Reservation res : history) {
+        List<ReservationSummary> history = reservationService.listReservationSummaryHistoryByCustomer(customer.getId());
+        for (ReservationSummary res : history) {
             historyModel.addElement(formatReservation(res));
         }
     }
 
-    private String formatReservation(Reservation res) {
-        String dates = dateFormatter.format(res.getStartDate()) + " - " + dateFormatter.format(res.getEndDate());
-        return res.getReservationId() + " | room " + res.getRoom().getRoomNumber() +
-                " (" + res.getRoom().getType() + ")" +
+    private String formatReservation(ReservationSummary res) {
+        String dates = dateFormatter.format(res.startDate()) + " - " + dateFormatter.format(res.endDate());
+        return res.reservationId() + " | room " + res.roomNumber() +
+                " (" + res.roomType() + ")" +
                 " | " + dates +
-                " | status: " + res.getCurrentState().getName() +
-                " | payment: " + res.getPaymentStatus();
+                " | status: " + res.status() +
+                " | payment: " + res.paymentStatus();
     }
 
     private ListCellRenderer<String> createReservationRenderer() {
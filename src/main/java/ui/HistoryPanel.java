@@ -1,6 +1,6 @@
 package ui;
 
-import model.reservation.Reservation;
+import model.reservation.ReservationSummary;
 import model.user.Customer;
 import service.ReservationService;
 
@@ -32,13 +32,13 @@ public class HistoryPanel extends JPanel {
 
     public void refreshHistory() {
         historyListModel.clear();
-        List<Reservation> reservations = reservationService.listReservationHistoryByCustomer(customer.getId());
-        for (Reservation res : reservations) {
+        List<ReservationSummary> reservations = reservationService.listReservationSummaryHistoryByCustomer(customer.getId());
+        for (ReservationSummary res : reservations) {
             historyListModel.addElement(
-                    res.getReservationId() + " | " + res.getRoom().getRoomNumber() + " | " +
-                            res.getStartDate() + " - " + res.getEndDate() + " | " +
-                            res.getCurrentState().getName() + " | $" + res.getTotalPrice() +
-                            " | payment: " + res.getPaymentStatus()
+                    res.reservationId() + " | " + res.roomNumber() + " | " +
+                            res.startDate() + " - " + res.endDate() + " | " +
+                            res.status() + " | $" + res.totalPrice() +
+                            " | payment: " + res.paymentStatus()
             );
         }
     }
@@ -65,17 +65,22 @@ public class LoginForm extends JFrame {
             return;
         }
 
-        Staff staff = authService.loginStaff(identifier, password);
-        if (staff != null) {
-            new StaffPanel(staff); 
-            dispose();
-            return;
-        }
-
-        Customer customer = authService.loginCustomer(identifier, password);
-        if (customer != null) {
-            new CustomerPanel(customer);
-            dispose();
+        try {
+            Staff staff = authService.loginStaff(identifier, password);
+            if (staff != null) {
+                new StaffPanel(staff);
+                dispose();
+                return;
+            }
+
+            Customer customer = authService.loginCustomer(identifier, password);
+            if (customer != null) {
+                new CustomerPanel(customer);
+                dispose();
+                return;
+            }
+        } catch (IllegalStateException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Login", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
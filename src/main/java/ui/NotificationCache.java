@@ -0,0 +1,97 @@
+package ui;
+
+import model.Notification;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Notifications already shown by a panel, newest first, plus the highest id seen so a
+ * refresh only asks for newer rows. A few ids below the mark are fetched again because a
+ * notification committed late can receive a lower id than one already shown; rows that
+ * are already cached are skipped. Display text is rendered once per message, when it
+ * first arrives.
+ */
+final class NotificationCache {
+
+    private static final int RESCAN_IDS = 20;
+    private static final Comparator<Notification> NEWEST_FIRST = Comparator
+            .comparing(Notification::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Notification::getId, Comparator.reverseOrder());
+
+    private final List<Notification> notifications = new ArrayList<>();
+    private final Set<Integer> knownIds = new HashSet<>();
+    private final Map<Integer, String> texts = new HashMap<>();
+    private final Function<List<Notification>, Map<Integer, String>> renderer;
+    private int highWaterMark;
+    private boolean loaded;
+
+    NotificationCache(Function<List<Notification>, Map<Integer, String>> renderer) {
+        this.renderer = renderer;
+    }
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Forces the next refresh to reload everything, e.g. after a failed write left the
+     * cached read flags ahead of the database.
+     */
+    void invalidate() {
+        loaded = false;
+    }
+
+    int pollFrom() {
+        return Math.max(0, highWaterMark - RESCAN_IDS);
+    }
+
+    void reset(List<Notification> all) {
+        notifications.clear();
+        knownIds.clear();
+        texts.clear();
+        highWaterMark = 0;
+        loaded = true;
+        merge(all);
+    }
+
+    /**
+     * Adds rows of messages not seen before. All rows of one message arrive together, so
+     * a known id means the whole message is already cached.
+     */
+    void merge(List<Notification> delta) {
+        List<Notification> added = new ArrayList<>();
+        for (Notification n : delta) {
+            if (!knownIds.contains(n.getId())) {
+                added.add(n);
+                highWaterMark = Math.max(highWaterMark, n.getId());
+            }
+        }
+        if (!added.isEmpty()) {
+            texts.putAll(renderer.apply(added));
+            notifications.addAll(added);
+            added.forEach(n -> knownIds.add(n.getId()));
+            notifications.sort(NEWEST_FIRST);
+        }
+    }
+
+    List<Notification> items() {
+        return notifications;
+    }
+
+    String text(Notification notification) {
+        return texts.getOrDefault(notification.getId(), notification.getMessage());
+    }
+
+    void markAllRead() {
+        for (Notification n : notifications) {
+            n.setRead(true);
+        }
+    }
+}
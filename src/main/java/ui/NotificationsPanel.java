@@ -2,6 +2,8 @@ package ui;
 
 import model.Notification;
 import model.user.Customer;
+import observer.EventBus;
+import observer.NotificationsChangedEvent;
 import service.NotificationQueryService;
 
 import javax.swing.*;
@@ -10,6 +12,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Set;
 
 public class NotificationsPanel extends JPanel {
 
@@ -17,26 +20,46 @@ public class NotificationsPanel extends JPanel {
     private final Customer customer;
     private final NotificationQueryService notificationQueryService;
     private final DefaultListModel<String> notificationListModel = new DefaultListModel<>();
-    private List<Notification> cachedNotifications;
+    private final NotificationCache cachedNotifications;
+    private final ReadMarkBuffer readMarks = new ReadMarkBuffer(this::saveReadMarks);
     private final JList<String> notificationList = new JList<>(notificationListModel);
+    private final JLabel unreadLabel = new JLabel();
+    private EventBus.Subscription notificationChanges;
     private final DateTimeFormatter notificationFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
     public NotificationsPanel(JFrame owner, Customer customer, NotificationQueryService notificationQueryService) {
         this.owner = owner;
         this.customer = customer;
         this.notificationQueryService = notificationQueryService;
+        this.cachedNotifications = new NotificationCache(notificationQueryService::renderMessages);
         buildUi();
     }
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        notificationChanges = EventBus.getInstance().subscribe(NotificationsChangedEvent.class, this::onNotificationsChanged);
+    }
+
+    @Override
+    public void removeNotify() {
+        readMarks.flush();
+        if (notificationChanges != null) {
+            notificationChanges.cancel();
+            notificationChanges = null;
+        }
+        super.removeNotify();
+    }
+
     private void buildUi() {
         setLayout(new BorderLayout());
-        notificationList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        notificationList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         notificationList.setCellRenderer(CustomerListRenderers.createNotificationRenderer());
         add(new JScrollPane(notificationList), BorderLayout.CENTER);
 
         JPanel actions = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 8));
         JButton markRead = new JButton("Mark Read");
-        markRead.addActionListener(e -> markNotificationRead(notificationList.getSelectedIndex()));
+        markRead.addActionListener(e -> markNotificationsRead(notificationList.getSelectedIndices()));
         JButton markAll = new JButton("Mark All Read");
         markAll.addActionListener(e -> markAllNotificationsRead());
         JButton refresh = new JButton("Refresh");
@@ -44,47 +67,85 @@ public class NotificationsPanel extends JPanel {
         actions.add(markRead);
         actions.add(markAll);
         actions.add(refresh);
+        actions.add(unreadLabel);
         add(actions, BorderLayout.SOUTH);
     }
 
     public void refreshNotifications() {
+        readMarks.flush();
         try {
-            cachedNotifications = notificationQueryService.listForCustomer(customer.getId());
-            notificationListModel.clear();
-            for (Notification n : cachedNotifications) {
-                notificationListModel.addElement(formatNotification(n));
+            if (cachedNotifications.isLoaded()) {
+                cachedNotifications.merge(notificationQueryService.listForCustomerSince(customer.getId(), cachedNotifications.pollFrom()));
+            } else {
+                cachedNotifications.reset(notificationQueryService.listForCustomer(customer.getId()));
             }
+            renderNotifications();
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(owner, "Failed to load notifications: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 
-    private void markNotificationRead(int index) {
-        if (index < 0 || cachedNotifications == null || index >= cachedNotifications.size()) {
+    private void onNotificationsChanged(List<NotificationsChangedEvent> events) {
+        refreshNotifications();
+    }
+
+    private void markNotificationsRead(int[] indices) {
+        List<Notification> notifications = cachedNotifications.items();
+        if (indices.length == 0) {
             JOptionPane.showMessageDialog(owner, "Select a notification first");
             return;
         }
-        Notification notification = cachedNotifications.get(index);
+        for (int index : indices) {
+            Notification notification = notifications.get(index);
+            if (!notification.isRead()) {
+                notification.setRead(true);
+                readMarks.add(notification.getId());
+            }
+        }
+        renderList();
+    }
+
+    private void saveReadMarks(Set<Integer> notificationIds) {
         try {
-            notificationQueryService.markAsRead(notification.getId());
-            refreshNotifications();
+            notificationQueryService.markAsReadForCustomer(customer.getId(), notificationIds);
+            updateUnreadLabel();
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(owner, "Failed to mark as read: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            cachedNotifications.invalidate();
+            refreshNotifications();
         }
     }
 
     private void markAllNotificationsRead() {
+        readMarks.discard();
         try {
             notificationQueryService.markAllAsReadForCustomer(customer.getId());
-            refreshNotifications();
+            cachedNotifications.markAllRead();
+            renderNotifications();
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(owner, "Failed to mark all as read: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 
+    private void renderNotifications() {
+        renderList();
+        updateUnreadLabel();
+    }
+
+    private void renderList() {
+        notificationListModel.clear();
+        for (Notification n : cachedNotifications.items()) {
+            notificationListModel.addElement(formatNotification(n));
+        }
+    }
+
+    private void updateUnreadLabel() {
+        unreadLabel.setText("Unread: " + notificationQueryService.countUnreadForCustomer(customer.getId()));
+    }
+
     private String formatNotification(Notification n) {
         String time = n.getCreatedAt() == null ? "-" : LocalDateTime.ofInstant(n.getCreatedAt(), ZoneId.systemDefault()).format(notificationFormatter);
-        return n.getId() + " | " + time + " | " + safe(n.getMessage()) + " | read:" + (n.isRead() ? "Y" : "N");
+        return n.getId() + " | " + time + " | " + safe(cachedNotifications.text(n)) + " | read:" + (n.isRead() ? "Y" : "N");
     }
 
     private String safe(String value) {
@@ -0,0 +1,51 @@
+package ui;
+
+import javax.swing.Timer;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Collects notification ids marked read on the event dispatch thread and hands them to
+ * {@code sink} together once no further mark has arrived for a short window, so a burst
+ * of clicks costs one round trip. Panels flush before any action that reads the state
+ * back and when they are removed from the screen.
+ */
+final class ReadMarkBuffer {
+
+    private static final int FLUSH_DELAY_MS = 750;
+
+    private final Set<Integer> pending = new LinkedHashSet<>();
+    private final Consumer<Set<Integer>> sink;
+    private final Timer timer;
+
+    ReadMarkBuffer(Consumer<Set<Integer>> sink) {
+        this.sink = sink;
+        this.timer = new Timer(FLUSH_DELAY_MS, e -> flush());
+        timer.setRepeats(false);
+    }
+
+    void add(int notificationId) {
+        pending.add(notificationId);
+        timer.restart();
+    }
+
+    boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    void flush() {
+        timer.stop();
+        if (pending.isEmpty()) {
+            return;
+        }
+        Set<Integer> batch = new LinkedHashSet<>(pending);
+        pending.clear();
+        sink.accept(batch);
+    }
+
+    void discard() {
+        timer.stop();
+        pending.clear();
+    }
+}
@@ -1,6 +1,6 @@
 package ui;
 
-import model.reservation.Reservation;
+import model.reservation.ReservationSummary;
 import model.user.Customer;
 import service.ReservationService;
 
@@ -40,13 +40,13 @@ public class ReservationsPanel extends JPanel {
 
     public void refreshReservations() {
         reservationListModel.clear();
-        List<Reservation> reservations = reservationService.listReservationsByCustomer(customer.getId());
-        for (Reservation res : reservations) {
+        List<ReservationSummary> reservations = reservationService.listReservationSummariesByCustomer(customer.getId());
+        for (ReservationSummary res : reservations) {
             reservationListModel.addElement(
-                    res.getReservationId() + " | " + res.getRoom().getRoomNumber() + " | " +
-                            res.getStartDate() + " - " + res.getEndDate() + " | " +
-                            res.getCurrentState().getName() + " | $" + res.getTotalPrice() +
-                            " | payment: " + res.getPaymentStatus()
+                    res.reservationId() + " | " + res.roomNumber() + " | " +
+                            res.startDate() + " - " + res.endDate() + " | " +
+                            res.status() + " | $" + res.totalPrice() +
+                            " | payment: " + res.paymentStatus()
             );
         }
     }
@@ -1,6 +1,8 @@
 package ui;
 
 import model.user.Customer;
+import observer.CustomerChangedEvent;
+import observer.EventBus;
 import service.CustomerService;
 import service.ReservationService;
 
@@ -28,6 +30,7 @@ public class StaffCustomersPanel extends JPanel {
     private final JTextField customerNationalIdField = new JTextField();
     private final JPasswordField customerPasswordField = new JPasswordField();
     private final JTabbedPane tabs = new JTabbedPane();
+    private EventBus.Subscription customerChanges;
 
     public StaffCustomersPanel(JFrame owner, CustomerService customerService, ReservationService reservationService) {
         this.owner = owner;
@@ -36,6 +39,21 @@ public class StaffCustomersPanel extends JPanel {
         buildUi();
     }
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        customerChanges = EventBus.getInstance().subscribe(CustomerChangedEvent.class, this::applyCustomerChanges);
+    }
+
+    @Override
+    public void removeNotify() {
+        if (customerChanges != null) {
+            customerChanges.cancel();
+            customerChanges = null;
+        }
+        super.removeNotify();
+    }
+
     private void buildUi() {
         tabs.addTab("List & Manage", manageCustomersPanel());
         tabs.addTab("Create New", createCustomerPanel());
@@ -118,7 +136,7 @@ public class StaffCustomersPanel extends JPanel {
     }
 
     public void refreshCustomers() {
-        cachedCustomers = customerService.searchCustomers(customerSearchField.getText().trim());
+        cachedCustomers = new ArrayList<>(customerService.searchCustomers(customerSearchField.getText().trim()));
         applyCustomerFilters();
     }
 
@@ -141,6 +159,36 @@ public class StaffCustomersPanel extends JPanel {
         }
     }
 
+    /**
+     * Patches changed customers into the cached list. New customers are only added while
+     * no search term is active, since the search runs in the database.
+     */
+    private void applyCustomerChanges(List<CustomerChangedEvent> events) {
+        if (cachedCustomers == null) {
+            return;
+        }
+        for (CustomerChangedEvent event : events) {
+            Customer customer = customerService.getProfile(event.customerId());
+            int index = -1;
+            for (int i = 0; i < cachedCustomers.size(); i++) {
+                if (cachedCustomers.get(i).getId() == event.customerId()) {
+                    index = i;
+                    break;
+                }
+            }
+            if (customer == null) {
+                if (index >= 0) {
+                    cachedCustomers.remove(index);
+                }
+            } else if (index >= 0) {
+                cachedCustomers.set(index, customer);
+            } else if (customerSearchField.getText().isBlank()) {
+                cachedCustomers.add(customer);
+            }
+        }
+        applyCustomerFilters();
+    }
+
     private void registerCustomer() {
         try {
             Customer created = customerService.register(
@@ -154,7 +202,6 @@ public class StaffCustomersPanel extends JPanel {
             );
             JOptionPane.showMessageDialog(owner, "Customer created: " + created.getUsername());
             clearCustomerCreateForm();
-            refreshCustomers();
             tabs.setSelectedIndex(0);
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(owner, "Failed to create customer: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
@@ -190,7 +237,6 @@ public class StaffCustomersPanel extends JPanel {
         try {
             customerService.deactivate(customer.getId());
             JOptionPane.showMessageDialog(owner, "Customer deactivated.");
-            refreshCustomers();
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(owner, "Failed to deactivate customer: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
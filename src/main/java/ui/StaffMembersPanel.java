@@ -123,7 +123,7 @@ public class StaffMembersPanel extends JPanel {
     }
 
     public void refreshStaff() {
-        cachedStaff = staffService.searchStaff(staffSearchField.getText().trim());
+        cachedStaff = new ArrayList<>(staffService.searchStaff(staffSearchField.getText().trim()));
         applyStaffFilters();
     }
 
@@ -2,6 +2,8 @@ package ui;
 
 import model.Notification;
 import model.user.Staff;
+import observer.EventBus;
+import observer.NotificationsChangedEvent;
 import service.NotificationQueryService;
 
 import javax.swing.*;
@@ -11,6 +13,7 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 public class StaffNotificationsPanel extends JPanel {
 
@@ -19,8 +22,11 @@ public class StaffNotificationsPanel extends JPanel {
     private final NotificationQueryService notificationQueryService;
     private final boolean isAdmin;
     private final DefaultListModel<String> notificationListModel = new DefaultListModel<>();
-    private List<Notification> cachedNotifications;
+    private final NotificationCache cachedNotifications;
+    private final ReadMarkBuffer readMarks = new ReadMarkBuffer(this::saveReadMarks);
     private final JList<String> notificationList = new JList<>(notificationListModel);
+    private final JLabel unreadLabel = new JLabel();
+    private EventBus.Subscription notificationChanges;
     private List<List<Notification>> adminGroupedNotifications;
     private final DateTimeFormatter notificationTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
@@ -28,19 +34,36 @@ public class StaffNotificationsPanel extends JPanel {
         this.owner = owner;
         this.staff = staff;
         this.notificationQueryService = notificationQueryService;
+        this.cachedNotifications = new NotificationCache(notificationQueryService::renderMessages);
         this.isAdmin = isAdmin;
         buildUi();
     }
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        notificationChanges = EventBus.getInstance().subscribe(NotificationsChangedEvent.class, this::onNotificationsChanged);
+    }
+
+    @Override
+    public void removeNotify() {
+        readMarks.flush();
+        if (notificationChanges != null) {
+            notificationChanges.cancel();
+            notificationChanges = null;
+        }
+        super.removeNotify();
+    }
+
     private void buildUi() {
         setLayout(new BorderLayout());
-        notificationList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        notificationList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         notificationList.setCellRenderer(StaffListRenderers.createNotificationRenderer(isAdmin));
         add(new JScrollPane(notificationList), BorderLayout.CENTER);
 
         JPanel actions = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 8));
         JButton markRead = new JButton("Mark Read");
-        markRead.addActionListener(e -> markNotificationRead(notificationList.getSelectedIndex()));
+        markRead.addActionListener(e -> markNotificationsRead(notificationList.getSelectedIndices()));
         JButton markAll = new JButton("Mark All Read");
         markAll.addActionListener(e -> markAllNotificationsRead());
         JButton refresh = new JButton("Refresh");
@@ -48,69 +71,102 @@ public class StaffNotificationsPanel extends JPanel {
         actions.add(markRead);
         actions.add(markAll);
         actions.add(refresh);
+        actions.add(unreadLabel);
         add(actions, BorderLayout.SOUTH);
     }
 
     public void refreshNotifications() {
+        readMarks.flush();
         try {
-            if (isAdmin) {
-                cachedNotifications = notificationQueryService.listAll();
-                renderAdminNotifications(cachedNotifications);
+            if (!cachedNotifications.isLoaded()) {
+                cachedNotifications.reset(isAdmin
+                        ? notificationQueryService.listAll()
+                        : notificationQueryService.listForStaff(staff.getId()));
+            } else if (isAdmin) {
+                cachedNotifications.merge(notificationQueryService.listAllSince(cachedNotifications.pollFrom()));
             } else {
-                cachedNotifications = notificationQueryService.listForStaff(staff.getId());
-                adminGroupedNotifications = null;
-                notificationListModel.clear();
-                for (Notification n : cachedNotifications) {
-                    notificationListModel.addElement(formatNotification(n));
-                }
+                cachedNotifications.merge(notificationQueryService.listForStaffSince(staff.getId(), cachedNotifications.pollFrom()));
             }
+            renderNotifications();
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(owner, "Failed to load notifications: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 
-    private void markNotificationRead(int index) {
-        if (isAdmin && adminGroupedNotifications != null) {
-            if (index < 0 || index >= adminGroupedNotifications.size()) {
-                JOptionPane.showMessageDialog(owner, "Select a notification first");
-                return;
-            }
-            try {
-                for (Notification n : adminGroupedNotifications.get(index)) {
-                    notificationQueryService.markAsRead(n.getId());
-                }
-                refreshNotifications();
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(owner, "Failed to mark as read: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            }
-            return;
-        }
-        if (index < 0 || cachedNotifications == null || index >= cachedNotifications.size()) {
+    private void onNotificationsChanged(List<NotificationsChangedEvent> events) {
+        refreshNotifications();
+    }
+
+    private void markNotificationsRead(int[] indices) {
+        if (indices.length == 0) {
             JOptionPane.showMessageDialog(owner, "Select a notification first");
             return;
         }
-        Notification notification = cachedNotifications.get(index);
+        for (int index : indices) {
+            List<Notification> rows = isAdmin && adminGroupedNotifications != null
+                    ? adminGroupedNotifications.get(index)
+                    : List.of(cachedNotifications.items().get(index));
+            if (rows.stream().anyMatch(n -> !n.isRead())) {
+                rows.forEach(n -> n.setRead(true));
+                readMarks.add(rows.get(0).getId());
+            }
+        }
+        renderList();
+    }
+
+    private void saveReadMarks(Set<Integer> notificationIds) {
         try {
-            notificationQueryService.markAsRead(notification.getId());
-            refreshNotifications();
+            if (isAdmin) {
+                notificationQueryService.markAsRead(notificationIds);
+            } else {
+                notificationQueryService.markAsReadForStaff(staff.getId(), notificationIds);
+            }
+            updateUnreadLabel();
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(owner, "Failed to mark as read: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            cachedNotifications.invalidate();
+            refreshNotifications();
         }
     }
 
     private void markAllNotificationsRead() {
+        readMarks.discard();
         try {
             if (isAdmin) {
                 notificationQueryService.markAllAsReadAll();
             } else {
                 notificationQueryService.markAllAsReadForStaff(staff.getId());
             }
-            refreshNotifications();
+            cachedNotifications.markAllRead();
+            renderNotifications();
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(owner, "Failed to mark all as read: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 
+    private void renderNotifications() {
+        renderList();
+        updateUnreadLabel();
+    }
+
+    private void renderList() {
+        if (isAdmin) {
+            renderAdminNotifications(cachedNotifications.items());
+            return;
+        }
+        adminGroupedNotifications = null;
+        notificationListModel.clear();
+        for (Notification n : cachedNotifications.items()) {
+            notificationListModel.addElement(formatNotification(n));
+        }
+    }
+
+    private void updateUnreadLabel() {
+        unreadLabel.setText("Unread: " + (isAdmin
+                ? notificationQueryService.countUnreadAll()
+                : notificationQueryService.countUnreadForStaff(staff.getId())));
+    }
+
     private void renderAdminNotifications(List<Notification> notifications) {
         adminGroupedNotifications = new ArrayList<>();
         notificationListModel.clear();
@@ -119,9 +175,7 @@ public class StaffNotificationsPanel extends JPanel {
         }
         java.util.Map<String, List<Notification>> groups = new java.util.LinkedHashMap<>();
         for (Notification n : notifications) {
-            String timeKey = n.getCreatedAt() == null ? "-" : String.valueOf(n.getCreatedAt().getEpochSecond());
-            String key = n.getMessage() + "|" + timeKey;
-            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(n);
+            groups.computeIfAbsent(String.valueOf(n.getId()), k -> new ArrayList<>()).add(n);
         }
         int i = 1;
         for (List<Notification> group : groups.values()) {
@@ -130,12 +184,12 @@ public class StaffNotificationsPanel extends JPanel {
             boolean anyUnread = group.stream().anyMatch(n -> !n.isRead());
             String time = first.getCreatedAt() == null ? "-" : LocalDateTime.ofInstant(first.getCreatedAt(), ZoneId.systemDefault()).format(notificationTimeFormatter);
             String targets = group.stream()
-                    .map(n -> (n.getUserType() == null ? "-" : n.getUserType()) + "#" + n.getUserId())
+                    .map(this::formatTarget)
                     .distinct()
                     .sorted()
                     .reduce((a, b) -> a + ", " + b)
                     .orElse("-");
-            String formatted = "G" + i + " | " + time + " | targets: " + targets + " | " + safe(first.getMessage()) + " | read:" + (anyUnread ? "N" : "Y");
+            String formatted = "G" + i + " | " + time + " | targets: " + targets + " | " + safe(cachedNotifications.text(first)) + " | read:" + (anyUnread ? "N" : "Y");
             notificationListModel.addElement(formatted);
             i++;
         }
@@ -144,10 +198,18 @@ public class StaffNotificationsPanel extends JPanel {
     private String formatNotification(Notification n) {
         String time = n.getCreatedAt() == null ? "-" : LocalDateTime.ofInstant(n.getCreatedAt(), ZoneId.systemDefault()).format(notificationTimeFormatter);
         if (isAdmin) {
-            String target = n.getUserType() == null ? "-" : n.getUserType() + "#" + n.getUserId();
-            return n.getId() + " | " + time + " | " + target + " | " + safe(n.getMessage()) + " | read:" + (n.isRead() ? "Y" : "N");
+            String target = formatTarget(n);
+            return n.getId() + " | " + time + " | " + target + " | " + safe(cachedNotifications.text(n)) + " | read:" + (n.isRead() ? "Y" : "N");
+        }
+        return n.getId() + " | " + time + " | " + safe(cachedNotifications.text(n)) + " | read:" + (n.isRead() ? "Y" : "N");
+    }
+
+    private String formatTarget(Notification n) {
+        if (n.getUserType() == null) {
+            return "-";
         }
-        return n.getId() + " | " + time + " | " + safe(n.getMessage()) + " | read:" + (n.isRead() ? "Y" : "N");
+        // Audience entries (all staff, admins) have no single user id.
+        return n.getUserId() > 0 ? n.getUserType() + "#" + n.getUserId() : n.getUserType();
     }
 
     private String safe(String value) {
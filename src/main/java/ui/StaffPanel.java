@@ -30,7 +30,7 @@ public class StaffPanel extends JFrame {
         this.customersPanel = new StaffCustomersPanel(this, customerService, reservationService);
         this.staffMembersPanel = isAdmin() ? new StaffMembersPanel(this, staffService, true) : null;
         this.roomsPanel = new StaffRoomsPanel(this, roomService);
-        this.reservationsPanel = new StaffReservationsPanel(this, staff, reservationService, roomService, customerService, roomsPanel::refreshRooms);
+        this.reservationsPanel = new StaffReservationsPanel(this, staff, reservationService, roomService, customerService);
         this.notificationsPanel = new StaffNotificationsPanel(this, staff, notificationQueryService, isAdmin());
 
         setTitle("Staff Panel - " + staff.getDisplayName());
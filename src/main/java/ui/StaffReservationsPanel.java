@@ -1,9 +1,14 @@
 package ui;
 
+import model.Page;
+import model.PageCursor;
 import model.reservation.Reservation;
+import model.reservation.ReservationSummary;
 import model.room.Room;
 import model.user.Customer;
 import model.user.Staff;
+import observer.EventBus;
+import observer.ReservationChangedEvent;
 import service.CustomerService;
 import service.ReservationService;
 import service.RoomService;
@@ -14,6 +19,7 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.format.TextStyle;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.function.Supplier;
@@ -25,10 +31,13 @@ public class StaffReservationsPanel extends JPanel {
     private final ReservationService reservationService;
     private final RoomService roomService;
     private final CustomerService customerService;
-    private final Runnable roomsRefresher;
+
+    private static final int PAGE_SIZE = 100;
 
     private final DefaultListModel<String> reservationListModel = new DefaultListModel<>();
-    private List<Reservation> cachedReservations;
+    private List<ReservationSummary> cachedReservations;
+    private PageCursor nextReservationsCursor;
+    private final JButton loadMoreReservations = new JButton("Load More");
     private final JTextField reservationCustomerFilter = new JTextField();
     private final JTextField reservationRoomFilter = new JTextField();
     private final JTextField reservationStartFilter = new JTextField();
@@ -46,23 +55,37 @@ public class StaffReservationsPanel extends JPanel {
     private final JLabel selectedCustomerLabel = new JLabel("No customer selected");
     private Customer selectedCustomerForReservation;
     private final JTabbedPane tabs = new JTabbedPane();
+    private EventBus.Subscription reservationChanges;
 
     public StaffReservationsPanel(JFrame owner,
                                   Staff staff,
                                   ReservationService reservationService,
                                   RoomService roomService,
-                                  CustomerService customerService,
-                                  Runnable roomsRefresher) {
+                                  CustomerService customerService) {
         this.owner = owner;
         this.staff = staff;
         this.reservationService = reservationService;
         this.roomService = roomService;
         this.customerService = customerService;
-        this.roomsRefresher = roomsRefresher;
         buildUi();
         setDefaultReservationDates();
     }
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        reservationChanges = EventBus.getInstance().subscribe(ReservationChangedEvent.class, this::applyReservationChanges);
+    }
+
+    @Override
+    public void removeNotify() {
+        if (reservationChanges != null) {
+            reservationChanges.cancel();
+            reservationChanges = null;
+        }
+        super.removeNotify();
+    }
+
     private void buildUi() {
         tabs.addTab("List & Manage", manageReservationsPanel());
         tabs.addTab("Create New", createReservationPanel());
@@ -95,12 +118,16 @@ public class StaffReservationsPanel extends JPanel {
         JButton refresh = new JButton("Refresh List");
         refresh.setToolTipText("Reload reservations");
         refresh.addActionListener(e -> refreshReservations());
+        loadMoreReservations.setToolTipText("Load the next " + PAGE_SIZE + " reservations");
+        loadMoreReservations.setEnabled(false);
+        loadMoreReservations.addActionListener(e -> loadMoreReservations());
         buttons.add(checkIn);
         buttons.add(checkOut);
         buttons.add(cancel);
         buttons.add(markPaid);
         buttons.add(refund);
         buttons.add(refresh);
+        buttons.add(loadMoreReservations);
         panel.add(buttons, BorderLayout.SOUTH);
 
         JPanel filterPanel = new JPanel(new GridLayout(0, 5, 4, 4));
@@ -217,6 +244,19 @@ public class StaffReservationsPanel extends JPanel {
     }
 
     public void refreshReservations() {
+        cachedReservations = new ArrayList<>();
+        nextReservationsCursor = null;
+        reservationListModel.clear();
+        loadReservationsPage(null);
+    }
+
+    private void loadMoreReservations() {
+        if (nextReservationsCursor != null) {
+            loadReservationsPage(nextReservationsCursor);
+        }
+    }
+
+    private void loadReservationsPage(PageCursor after) {
         java.time.LocalDate start = null;
         java.time.LocalDate end = null;
         try {
@@ -230,43 +270,82 @@ public class StaffReservationsPanel extends JPanel {
             JOptionPane.showMessageDialog(owner, "Invalid date filter format. Use yyyy-MM-dd");
             return;
         }
-        cachedReservations = reservationService.listReservationsByFilter(
+        Page<ReservationSummary> page = reservationService.listReservationSummariesByFilter(
                 reservationCustomerFilter.getText().trim(),
                 reservationRoomFilter.getText().trim(),
                 start,
-                end
+                end,
+                after,
+                PAGE_SIZE
         );
-        reservationListModel.clear();
-        for (Reservation res : cachedReservations) {
-            reservationListModel.addElement(
-                    res.getReservationId() + " | cust#" + res.getCustomer().getId() + " " + res.getCustomer().getDisplayName() +
-                            " | room " + res.getRoom().getRoomNumber() + " (" + res.getRoom().getType() + ")" +
-                            " | " + res.getStartDate() + " - " + res.getEndDate() +
-                            " | status: " + res.getCurrentState().getName() +
-                            " | payment: " + res.getPaymentStatus()
-            );
+        cachedReservations.addAll(page.items());
+        nextReservationsCursor = page.next();
+        loadMoreReservations.setEnabled(page.hasNext());
+        for (ReservationSummary res : page.items()) {
+            reservationListModel.addElement(formatReservation(res));
+        }
+    }
+
+    /**
+     * Updates changed rows in place. New reservations are put on top only while no
+     * filter is active, since the filters are evaluated by the database.
+     */
+    private void applyReservationChanges(List<ReservationChangedEvent> events) {
+        if (cachedReservations == null) {
+            return;
+        }
+        for (ReservationChangedEvent event : events) {
+            ReservationSummary summary = reservationService.findReservationSummary(event.reservationId());
+            if (summary == null) {
+                continue;
+            }
+            int index = -1;
+            for (int i = 0; i < cachedReservations.size(); i++) {
+                if (cachedReservations.get(i).reservationId() == summary.reservationId()) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index >= 0) {
+                cachedReservations.set(index, summary);
+                reservationListModel.set(index, formatReservation(summary));
+            } else if (!hasReservationFilters()) {
+                cachedReservations.add(0, summary);
+                reservationListModel.add(0, formatReservation(summary));
+            }
         }
     }
 
+    private boolean hasReservationFilters() {
+        return !reservationCustomerFilter.getText().isBlank()
+                || !reservationRoomFilter.getText().isBlank()
+                || !reservationStartFilter.getText().isBlank()
+                || !reservationEndFilter.getText().isBlank();
+    }
+
+    private String formatReservation(ReservationSummary res) {
+        return res.reservationId() + " | cust#" + res.customerId() + " " + res.guestName() +
+                " | room " + res.roomNumber() + " (" + res.roomType() + ")" +
+                " | " + res.startDate() + " - " + res.endDate() +
+                " | status: " + res.status() +
+                " | payment: " + res.paymentStatus();
+    }
+
     private void performOnSelected(int index, String action) {
-        if (index < 0 || cachedReservations == null) {
+        if (index < 0 || cachedReservations == null || index >= cachedReservations.size()) {
             return;
         }
-        Reservation reservation = cachedReservations.get(index);
+        int reservationId = cachedReservations.get(index).reservationId();
         try {
             switch (action) {
-                case "checkin" -> reservationService.checkIn(reservation.getReservationId(), staff.getId());
-                case "checkout" -> reservationService.checkOut(reservation.getReservationId(), staff.getId());
-                case "cancel" -> reservationService.cancelReservation(reservation.getReservationId(), staff.getId());
-                case "markPaid" -> reservationService.markPaid(reservation.getReservationId(), staff.getId());
-                case "refund" -> reservationService.refund(reservation.getReservationId(), staff.getId());
+                case "checkin" -> reservationService.checkIn(reservationId, staff.getId());
+                case "checkout" -> reservationService.checkOut(reservationId, staff.getId());
+                case "cancel" -> reservationService.cancelReservation(reservationId, staff.getId());
+                case "markPaid" -> reservationService.markPaid(reservationId, staff.getId());
+                case "refund" -> reservationService.refund(reservationId, staff.getId());
                 default -> {
                 }
             }
-            refreshReservations();
-            if (roomsRefresher != null) {
-                roomsRefresher.run();
-            }
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(owner, ex.getMessage(), "Action failed", JOptionPane.WARNING_MESSAGE);
         }
@@ -330,10 +409,6 @@ public class StaffReservationsPanel extends JPanel {
             }
             Reservation reservation = reservationService.createReservation(selectedCustomerForReservation, room, start, end, staff.getId());
             JOptionPane.showMessageDialog(owner, "Reservation created: " + reservation.getReservationId());
-            refreshReservations();
-            if (roomsRefresher != null) {
-                roomsRefresher.run();
-            }
         } catch (Exception e) {
             JOptionPane.showMessageDialog(owner, "Failed to create reservation: " + e.getMessage());
         }
@@ -1,6 +1,8 @@
 package ui;
 
 import model.room.Room;
+import observer.EventBus;
+import observer.RoomChangedEvent;
 import service.RoomService;
 
 import javax.swing.*;
@@ -25,6 +27,7 @@ public class StaffRoomsPanel extends JPanel {
     private final JSpinner roomCapacitySpinner = new JSpinner(new SpinnerNumberModel(2, 1, 6, 1));
     private final JSpinner roomPriceSpinner = new JSpinner(new SpinnerNumberModel(100.0, 10.0, 5000.0, 10.0));
     private final JTabbedPane tabs = new JTabbedPane();
+    private EventBus.Subscription roomChanges;
 
     public StaffRoomsPanel(JFrame owner, RoomService roomService) {
         this.owner = owner;
@@ -32,6 +35,21 @@ public class StaffRoomsPanel extends JPanel {
         buildUi();
     }
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        roomChanges = EventBus.getInstance().subscribe(RoomChangedEvent.class, this::applyRoomChanges);
+    }
+
+    @Override
+    public void removeNotify() {
+        if (roomChanges != null) {
+            roomChanges.cancel();
+            roomChanges = null;
+        }
+        super.removeNotify();
+    }
+
     private void buildUi() {
         tabs.addTab("List & Manage", manageRoomsPanel());
         tabs.addTab("Create New", createRoomPanel());
@@ -132,31 +150,76 @@ public class StaffRoomsPanel extends JPanel {
         if (cachedRooms == null) {
             return;
         }
+        for (Room room : cachedRooms) {
+            if (matchesRoomFilters(room)) {
+                filteredRooms.add(room);
+                roomListModel.addElement(formatRoom(room));
+            }
+        }
+    }
+
+    private boolean matchesRoomFilters(Room room) {
         String search = roomSearchField.getText().trim().toLowerCase();
         String type = (String) roomTypeFilter.getSelectedItem();
         String status = (String) roomStatusFilter.getSelectedItem();
         int minCapacity = (Integer) roomCapacityFilter.getValue();
-        for (Room room : cachedRooms) {
-            if (!"All".equalsIgnoreCase(type)) {
-                if (room.getType() == null || !room.getType().equalsIgnoreCase(type)) {
-                    continue;
-                }
+        if (!"All".equalsIgnoreCase(type)) {
+            if (room.getType() == null || !room.getType().equalsIgnoreCase(type)) {
+                return false;
             }
-            if (!"All".equalsIgnoreCase(status)) {
-                if (room.getStatus() == null || !room.getStatus().equalsIgnoreCase(status)) {
-                    continue;
-                }
+        }
+        if (!"All".equalsIgnoreCase(status)) {
+            if (room.getStatus() == null || !room.getStatus().equalsIgnoreCase(status)) {
+                return false;
             }
-            if (minCapacity > 0 && room.getCapacity() < minCapacity) {
+        }
+        if (minCapacity > 0 && room.getCapacity() < minCapacity) {
+            return false;
+        }
+        String combined = (safe(room.getRoomNumber()) + " " + safe(room.getType())).toLowerCase();
+        return search.isEmpty() || combined.contains(search);
+    }
+
+    /**
+     * Replaces changed rooms in place; the list is only rebuilt when a room enters or
+     * leaves the current filter.
+     */
+    private void applyRoomChanges(List<RoomChangedEvent> events) {
+        if (cachedRooms == null) {
+            return;
+        }
+        boolean refilter = false;
+        for (RoomChangedEvent event : events) {
+            Room room = roomService.findRoom(event.roomId());
+            if (room == null) {
                 continue;
             }
-            String combined = (safe(room.getRoomNumber()) + " " + safe(room.getType())).toLowerCase();
-            if (!search.isEmpty() && !combined.contains(search)) {
-                continue;
+            int cachedIndex = indexOfRoom(cachedRooms, room.getId());
+            if (cachedIndex >= 0) {
+                cachedRooms.set(cachedIndex, room);
+            } else {
+                cachedRooms.add(room);
+            }
+            int visibleIndex = indexOfRoom(filteredRooms, room.getId());
+            if (visibleIndex >= 0 && matchesRoomFilters(room)) {
+                filteredRooms.set(visibleIndex, room);
+                roomListModel.set(visibleIndex, formatRoom(room));
+            } else if (visibleIndex >= 0 || matchesRoomFilters(room)) {
+                refilter = true;
             }
-            filteredRooms.add(room);
-            roomListModel.addElement(formatRoom(room));
         }
+        if (refilter) {
+            applyRoomFilters();
+        }
+    }
+
+    private int indexOfRoom(List<Room> rooms, int roomId) {
+        for (int i = 0; i < rooms.size(); i++) {
+            if (rooms.get(i).getId() == roomId) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     private void addRoom() {
@@ -168,7 +231,6 @@ public class StaffRoomsPanel extends JPanel {
         );
         JOptionPane.showMessageDialog(owner, "Room added: " + room.getRoomNumber());
         clearRoomCreateForm();
-        refreshRooms();
     }
 
     private void updateRoomStatus(int selectedIndex, String status) {
@@ -180,7 +242,6 @@ public class StaffRoomsPanel extends JPanel {
         try {
             roomService.updateStatus(room.getId(), status);
             JOptionPane.showMessageDialog(owner, "Room " + room.getRoomNumber() + " set to " + status);
-            refreshRooms();
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(owner, "Failed to update room: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
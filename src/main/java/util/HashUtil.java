@@ -1,44 +1,57 @@
 package util;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Locale;
-
-
-
-
+import java.util.List;
+
+/**
+ * Password hashing entry point. New hashes use PBKDF2 with
+ * {@code PASSWORD_HASH_ITERATIONS} iterations (default 310000; run
+ * {@link PasswordHashCalibrator} to choose a value for a target login time). Stored
+ * hashes are verified with whichever scheme produced them.
+ */
 public final class HashUtil {
 
+    private static final Pbkdf2PasswordScheme CURRENT =
+            new Pbkdf2PasswordScheme(Settings.intSetting("PASSWORD_HASH_ITERATIONS", 310_000));
+    private static final List<PasswordScheme> SCHEMES = List.of(CURRENT, new Sha256PasswordScheme());
+
     private HashUtil() {
     }
 
     public static String hashPassword(String rawPassword) {
-        if (rawPassword == null || rawPassword.isBlank()) {
-            throw new IllegalArgumentException("Password cannot be empty");
-        }
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(rawPassword.getBytes(StandardCharsets.UTF_8));
-            return toHex(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("SHA-256 algorithm not available", e);
-        }
+        requirePassword(rawPassword);
+        return CURRENT.hash(rawPassword);
     }
 
     public static boolean isPasswordMatch(String rawPassword, String storedHash) {
         if (storedHash == null) {
             return false;
         }
-        String candidateHash = hashPassword(rawPassword);
-        return MessageDigest.isEqual(candidateHash.getBytes(StandardCharsets.UTF_8), storedHash.getBytes(StandardCharsets.UTF_8));
+        requirePassword(rawPassword);
+        PasswordScheme scheme = schemeOf(storedHash);
+        return scheme != null && scheme.matches(rawPassword, storedHash);
+    }
+
+    /**
+     * Whether a hash that just matched should be replaced with a fresh one from
+     * {@link #hashPassword(String)}: it uses a legacy scheme or fewer iterations.
+     */
+    public static boolean needsRehash(String storedHash) {
+        PasswordScheme scheme = schemeOf(storedHash);
+        return scheme == null || scheme != CURRENT || scheme.needsRehash(storedHash);
+    }
+
+    private static PasswordScheme schemeOf(String storedHash) {
+        for (PasswordScheme scheme : SCHEMES) {
+            if (scheme.recognizes(storedHash)) {
+                return scheme;
+            }
+        }
+        return null;
     }
 
-    private static String toHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder(bytes.length * 2);
-        for (byte b : bytes) {
-            sb.append(String.format(Locale.ROOT, "%02x", b));
+    private static void requirePassword(String rawPassword) {
+        if (rawPassword == null || rawPassword.isBlank()) {
+            throw new IllegalArgumentException("Password cannot be empty");
         }
-        return sb.toString();
     }
 }
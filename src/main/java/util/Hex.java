@@ -0,0 +1,54 @@
+package util;
+
+/**
+ * Lower-case hex codec working on char arrays, without per-byte formatting or
+ * intermediate strings.
+ */
+public final class Hex {
+
+    private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+    private Hex() {
+    }
+
+    public static String encode(byte[] bytes) {
+        char[] out = new char[bytes.length * 2];
+        encode(bytes, out, 0);
+        return new String(out);
+    }
+
+    /**
+     * Writes {@code bytes} into {@code out} starting at {@code offset}; allocates nothing.
+     */
+    public static void encode(byte[] bytes, char[] out, int offset) {
+        for (byte b : bytes) {
+            out[offset++] = DIGITS[(b >>> 4) & 0x0f];
+            out[offset++] = DIGITS[b & 0x0f];
+        }
+    }
+
+    public static byte[] decode(CharSequence hex) {
+        int length = hex.length();
+        if ((length & 1) != 0) {
+            throw new IllegalArgumentException("Hex string has an odd length");
+        }
+        byte[] bytes = new byte[length / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) ((digit(hex.charAt(2 * i)) << 4) | digit(hex.charAt(2 * i + 1)));
+        }
+        return bytes;
+    }
+
+    private static int digit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        throw new IllegalArgumentException("Invalid hex digit: " + c);
+    }
+}
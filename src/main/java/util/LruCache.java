@@ -0,0 +1,89 @@
+package util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded least-recently-used cache with an optional time to live. Every
+ * invalidation bumps a version, and {@link #putIfVersion} refuses values loaded before
+ * it, so a load that raced with a write cannot cache the old row.
+ */
+public final class LruCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long version;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    /**
+     * @param timeToLive null or zero to keep entries until they are evicted or invalidated
+     */
+    public LruCache(int maxSize, Duration timeToLive) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = timeToLive == null ? 0 : timeToLive.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && ttlNanos > 0 && System.nanoTime() - entry.storedAt > ttlNanos) {
+            entries.remove(key);
+            expirations++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /** Version to pass to {@link #putIfVersion} once the value has been loaded. */
+    public synchronized long version() {
+        return version;
+    }
+
+    public synchronized void putIfVersion(long loadedVersion, K key, V value) {
+        if (version == loadedVersion) {
+            entries.put(key, new Entry<>(value, System.nanoTime()));
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        version++;
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        version++;
+        entries.clear();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(entries.size(), maxSize, hits, misses, evictions, expirations);
+    }
+
+    public record Stats(int size, int maxSize, long hits, long misses, long evictions, long expirations) {
+    }
+
+    private record Entry<V>(V value, long storedAt) {
+    }
+}
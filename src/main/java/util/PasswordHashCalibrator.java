@@ -0,0 +1,49 @@
+package util;
+
+/**
+ * Finds the PBKDF2 iteration count that takes about the target time on this machine:
+ * {@code java util.PasswordHashCalibrator [targetMillis]} (default 250). Set the result
+ * as {@code PASSWORD_HASH_ITERATIONS}. Run it on the production hardware while it is
+ * otherwise idle; every login costs one hash at this setting.
+ */
+public final class PasswordHashCalibrator {
+
+    private static final int PROBE_ITERATIONS = 10_000;
+    private static final int ROUNDS = 5;
+
+    private PasswordHashCalibrator() {
+    }
+
+    public static void main(String[] args) {
+        long targetMillis = args.length > 0 ? Long.parseLong(args[0]) : 250;
+        int iterations = calibrate(targetMillis);
+        System.out.println("PASSWORD_HASH_ITERATIONS=" + iterations
+                + " (about " + targetMillis + " ms per hash on this machine)");
+    }
+
+    /**
+     * Times a probe run, scales it to the target, then checks the scaled count once and
+     * corrects for any non-linearity. Uses the fastest of several rounds to ignore
+     * warm-up and scheduling noise.
+     */
+    public static int calibrate(long targetMillis) {
+        if (targetMillis <= 0) {
+            throw new IllegalArgumentException("Target must be positive");
+        }
+        byte[] salt = new byte[16];
+        double probeNanos = fastest(salt, PROBE_ITERATIONS);
+        int estimate = (int) Math.max(1, PROBE_ITERATIONS * (targetMillis * 1_000_000.0 / probeNanos));
+        double measured = fastest(salt, estimate);
+        return (int) Math.max(1, estimate * (targetMillis * 1_000_000.0 / measured));
+    }
+
+    private static double fastest(byte[] salt, int iterations) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long started = System.nanoTime();
+            Pbkdf2PasswordScheme.derive("calibration-password", salt, iterations);
+            best = Math.min(best, System.nanoTime() - started);
+        }
+        return best;
+    }
+}
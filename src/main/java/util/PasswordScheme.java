@@ -0,0 +1,18 @@
+package util;
+
+/**
+ * One way of turning a password into a stored hash. {@link HashUtil} picks the scheme
+ * of a stored hash from its format and hashes new passwords with the current one.
+ */
+public interface PasswordScheme {
+
+    String hash(String rawPassword);
+
+    /** Whether {@code storedHash} is in this scheme's format. */
+    boolean recognizes(String storedHash);
+
+    boolean matches(String rawPassword, String storedHash);
+
+    /** Whether a hash this scheme recognizes should be replaced at the next login. */
+    boolean needsRehash(String storedHash);
+}
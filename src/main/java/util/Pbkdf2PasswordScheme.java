@@ -0,0 +1,85 @@
+package util;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+
+/**
+ * Salted PBKDF2-HMAC-SHA256 from the JDK, stored as
+ * {@code pbkdf2-sha256$<iterations>$<salt hex>$<hash hex>}. The iteration count is part
+ * of the stored hash, so raising it only affects new hashes; older ones are upgraded by
+ * {@link #needsRehash(String)} at the next login.
+ */
+public final class Pbkdf2PasswordScheme implements PasswordScheme {
+
+    public static final String ID = "pbkdf2-sha256";
+    private static final String PREFIX = ID + "$";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final int iterations;
+
+    public Pbkdf2PasswordScheme(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iterations must be positive");
+        }
+        this.iterations = iterations;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        byte[] hash = derive(rawPassword, salt, iterations);
+        return PREFIX + iterations + "$" + Hex.encode(salt) + "$" + Hex.encode(hash);
+    }
+
+    @Override
+    public boolean recognizes(String storedHash) {
+        return storedHash.startsWith(PREFIX);
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String storedHash) {
+        String[] parts = storedHash.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+        try {
+            int storedIterations = Integer.parseInt(parts[1]);
+            byte[] salt = Hex.decode(parts[2]);
+            byte[] expected = Hex.decode(parts[3]);
+            return MessageDigest.isEqual(derive(rawPassword, salt, storedIterations), expected);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean needsRehash(String storedHash) {
+        String[] parts = storedHash.split("\\$");
+        try {
+            return parts.length != 4 || Integer.parseInt(parts[1]) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    static byte[] derive(String rawPassword, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(rawPassword.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2WithHmacSHA256 not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
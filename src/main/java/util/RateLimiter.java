@@ -0,0 +1,62 @@
+package util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token buckets spread over a fixed number of stripes addressed by key, so memory stays
+ * bounded however many keys show up; keys sharing a stripe share a bucket. Each bucket is
+ * a single long (the time at which it will be full again, as in GCRA) updated with CAS,
+ * so acquiring never blocks.
+ */
+public final class RateLimiter {
+
+    private final AtomicLongArray fullAt;
+    private final int mask;
+    private final long nanosPerToken;
+    private final long burstNanos;
+
+    /**
+     * @param burst          tokens available to an idle key
+     * @param tokensPerMinute refill rate
+     */
+    public RateLimiter(int minimumStripes, int burst, int tokensPerMinute) {
+        if (minimumStripes <= 0 || burst <= 0 || tokensPerMinute <= 0) {
+            throw new IllegalArgumentException("Stripes, burst and rate must be positive");
+        }
+        int size = 1;
+        while (size < minimumStripes) {
+            size <<= 1;
+        }
+        this.fullAt = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.nanosPerToken = TimeUnit.MINUTES.toNanos(1) / tokensPerMinute;
+        this.burstNanos = nanosPerToken * burst;
+    }
+
+    /**
+     * Takes a token for {@code key}. Returns 0 on success, otherwise the nanoseconds until
+     * a token is available; nothing is taken then.
+     */
+    public long tryAcquire(Object key) {
+        int stripe = spread(key.hashCode()) & mask;
+        long now = System.nanoTime();
+        while (true) {
+            long current = fullAt.get(stripe);
+            // An idle bucket is full: it never starts further back than "now".
+            long start = current - now < 0 || current == 0 ? now : current;
+            long next = start + nanosPerToken;
+            if (next - now > burstNanos) {
+                return next - now - burstNanos;
+            }
+            if (fullAt.compareAndSet(stripe, current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private static int spread(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,39 @@
+package util;
+
+public final class Settings {
+
+    private Settings() {
+    }
+
+    /**
+     * Reads an integer from the environment variable {@code name}, or returns
+     * {@code defaultValue} when it is not set.
+     */
+    public static int intSetting(String name, int defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Invalid value for " + name + ": " + value, e);
+        }
+    }
+
+    /**
+     * Reads a boolean ({@code true} or {@code false}, any case) from the environment
+     * variable {@code name}, or returns {@code defaultValue} when it is not set.
+     */
+    public static boolean booleanSetting(String name, boolean defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        return switch (value.trim().toLowerCase()) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> throw new IllegalStateException("Invalid value for " + name + ": " + value);
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Legacy unsalted SHA-256 stored as 64 hex digits. Kept only to verify existing hashes;
+ * they are always replaced at the next successful login.
+ */
+public final class Sha256PasswordScheme implements PasswordScheme {
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    });
+
+    @Override
+    public String hash(String rawPassword) {
+        return Hex.encode(DIGEST.get().digest(rawPassword.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    public boolean recognizes(String storedHash) {
+        return storedHash.length() == 64 && storedHash.indexOf('$') < 0;
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String storedHash) {
+        byte[] candidate = DIGEST.get().digest(rawPassword.getBytes(StandardCharsets.UTF_8));
+        byte[] stored;
+        try {
+            stored = Hex.decode(storedHash);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(candidate, stored);
+    }
+
+    @Override
+    public boolean needsRehash(String storedHash) {
+        return true;
+    }
+}
@@ -8,7 +8,8 @@ CREATE TABLE IF NOT EXISTS customers (
     national_id VARCHAR(11) UNIQUE,
     password_hash VARCHAR(255),
     is_active BOOLEAN DEFAULT TRUE,
-    created_at DATETIME DEFAULT CURRENT_TIMESTAMP
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_customers_created (created_at, customer_id)
 );
 
 CREATE TABLE IF NOT EXISTS staff (
@@ -21,7 +22,8 @@ CREATE TABLE IF NOT EXISTS staff (
     password_hash VARCHAR(255),
     role VARCHAR(50),
     is_active BOOLEAN DEFAULT TRUE,
-    created_at DATETIME DEFAULT CURRENT_TIMESTAMP
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_staff_created (created_at, staff_id)
 );
 
 CREATE TABLE IF NOT EXISTS rooms (
@@ -43,6 +45,8 @@ CREATE TABLE IF NOT EXISTS reservations (
     payment_status ENUM('unpaid','paid','refunded') DEFAULT 'unpaid',
     status ENUM('pending','active','checked_in','completed','canceled') DEFAULT 'pending',
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_reservations_created (created_at, reservation_id),
+    INDEX idx_reservations_room_dates (room_id, start_date, end_date),
     FOREIGN KEY (customer_id) REFERENCES customers(customer_id),
     FOREIGN KEY (room_id) REFERENCES rooms(room_id)
 );
@@ -57,6 +61,117 @@ CREATE TABLE IF NOT EXISTS reservation_actions (
     FOREIGN KEY (staff_id) REFERENCES staff(staff_id)
 );
 
+CREATE TABLE IF NOT EXISTS notification_messages (
+    message_id INT PRIMARY KEY AUTO_INCREMENT,
+    message VARCHAR(255) NULL,
+    to_all_staff BOOLEAN DEFAULT FALSE,
+    to_admins BOOLEAN DEFAULT FALSE,
+    template VARCHAR(32) NULL,
+    reservation_id INT NULL,
+    room_id INT NULL,
+    actor_id INT NULL,
+    start_date DATE NULL,
+    end_date DATE NULL,
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_notification_messages_created (created_at, message_id),
+    INDEX idx_notification_messages_reservation (reservation_id)
+);
+
+CREATE TABLE IF NOT EXISTS notification_receipts (
+    message_id INT,
+    user_type ENUM('customer','staff'),
+    user_id INT,
+    is_read BOOLEAN DEFAULT FALSE,
+    PRIMARY KEY (message_id, user_type, user_id),
+    INDEX idx_notification_receipts_user (user_type, user_id, message_id),
+    FOREIGN KEY (message_id) REFERENCES notification_messages(message_id)
+);
+
+CREATE TABLE IF NOT EXISTS notification_messages_archive (
+    message_id INT PRIMARY KEY,
+    message VARCHAR(255) NULL,
+    to_all_staff BOOLEAN DEFAULT FALSE,
+    to_admins BOOLEAN DEFAULT FALSE,
+    template VARCHAR(32) NULL,
+    reservation_id INT NULL,
+    room_id INT NULL,
+    actor_id INT NULL,
+    start_date DATE NULL,
+    end_date DATE NULL,
+    created_at DATETIME,
+    archived_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_notification_messages_archive_created (created_at, message_id)
+);
+
+CREATE TABLE IF NOT EXISTS notification_receipts_archive (
+    message_id INT,
+    user_type ENUM('customer','staff'),
+    user_id INT,
+    is_read BOOLEAN DEFAULT FALSE,
+    PRIMARY KEY (message_id, user_type, user_id),
+    INDEX idx_notification_receipts_archive_user (user_type, user_id, message_id)
+);
+
+CREATE TABLE IF NOT EXISTS notification_read_marks (
+    user_type ENUM('customer','staff'),
+    user_id INT,
+    read_up_to INT DEFAULT 0,
+    PRIMARY KEY (user_type, user_id)
+);
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    outbox_id INT PRIMARY KEY AUTO_INCREMENT,
+    customer_id INT,
+    staff_id INT NULL,
+    broadcast_staff BOOLEAN DEFAULT FALSE,
+    message VARCHAR(255) NULL,
+    template VARCHAR(32) NULL,
+    reservation_id INT NULL,
+    room_id INT NULL,
+    actor_id INT NULL,
+    start_date DATE NULL,
+    end_date DATE NULL,
+    attempts INT DEFAULT 0,
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    processed_at DATETIME NULL,
+    INDEX idx_outbox_pending (processed_at, outbox_id)
+);
+
+-- Upgrading an existing database: CREATE TABLE IF NOT EXISTS leaves old tables as they
+-- were, so the indexes added since are created here and the old notifications table is
+-- copied into the new ones. Run this before the new version writes any notification.
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'customers' AND index_name = 'idx_customers_created') = 0,
+              'ALTER TABLE customers ADD INDEX idx_customers_created (created_at, customer_id)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'staff' AND index_name = 'idx_staff_created') = 0,
+              'ALTER TABLE staff ADD INDEX idx_staff_created (created_at, staff_id)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'reservations' AND index_name = 'idx_reservations_created') = 0,
+              'ALTER TABLE reservations ADD INDEX idx_reservations_created (created_at, reservation_id)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'reservations' AND index_name = 'idx_reservations_room_dates') = 0,
+              'ALTER TABLE reservations ADD INDEX idx_reservations_room_dates (room_id, start_date, end_date)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+-- Notifications of the previous version, one row per recipient. Message ids keep the old
+-- notification ids, so running this again copies nothing twice. The table can be dropped
+-- once its rows are copied.
 CREATE TABLE IF NOT EXISTS notifications (
     notification_id INT PRIMARY KEY AUTO_INCREMENT,
     user_type ENUM('customer','staff'),
@@ -66,6 +181,23 @@ CREATE TABLE IF NOT EXISTS notifications (
     is_read BOOLEAN DEFAULT FALSE
 );
 
+INSERT IGNORE INTO notification_messages (message_id, message, created_at)
+SELECT notification_id, message, created_at
+FROM notifications;
+
+INSERT IGNORE INTO notification_receipts (message_id, user_type, user_id, is_read)
+SELECT n.notification_id, n.user_type, n.user_id, n.is_read
+FROM notifications n
+JOIN notification_messages m ON m.message_id = n.notification_id
+    AND m.created_at = n.created_at AND m.message <=> n.message;
+
+-- "Mark all read" used to move only the watermark. Receipts are the read state now, so
+-- the receipts below each watermark are marked read once; running this again changes nothing.
+UPDATE notification_receipts r
+JOIN notification_read_marks w ON w.user_type = r.user_type AND w.user_id = r.user_id
+SET r.is_read = TRUE
+WHERE r.is_read = FALSE AND r.message_id <= w.read_up_to;
+
 INSERT INTO staff (username, first_name, last_name, email, national_id, password_hash, role, is_active) VALUES
 ('admin', 'Staff', 'Admin', 'staff@mail.com', '90000000001', '10176e7b7b24d317acfcf8d2064cfd2f24e154f7b5a96603077d5ef813d6a6b6', 'admin', TRUE),
 ('staff2', 'Staff', 'Two', 'staff2@mail.com', '90000000002', 'e6c2627cb811ddcf2824dec6c9fdb842d2b48739f53801a018ce80cbbef09086', 'staff', TRUE);
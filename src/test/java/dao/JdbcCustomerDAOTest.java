@@ -0,0 +1,56 @@
+package dao;
+
+import database.FakeDatabase;
+import database.TransactionTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JdbcCustomerDAOTest {
+
+    private static final int CUSTOMER_ID = 42;
+
+    private FakeDatabase database;
+    private JdbcCustomerDAO dao;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = new FakeDatabase(1);
+        database.install();
+        dao = new JdbcCustomerDAO(database.connection());
+        dao.deactivate(CUSTOMER_ID);
+        database.resetCount();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        database.close();
+    }
+
+    @Test
+    void findByIdIsCachedOutsideTransactions() {
+        dao.findById(CUSTOMER_ID);
+        dao.findById(CUSTOMER_ID);
+
+        assertEquals(1, database.executedStatements());
+    }
+
+    @Test
+    void findByIdInsideATransactionNeitherReadsNorFillsTheCache() {
+        dao.findById(CUSTOMER_ID);
+        database.resetCount();
+
+        TransactionTemplate.run(() -> dao.findById(CUSTOMER_ID));
+        assertEquals(1, database.executedStatements(), "cached row must not be served inside a transaction");
+
+        dao.deactivate(CUSTOMER_ID);
+        database.resetCount();
+        TransactionTemplate.run(() -> dao.findById(CUSTOMER_ID));
+        dao.findById(CUSTOMER_ID);
+        assertEquals(2, database.executedStatements(), "row read in the transaction must not be cached");
+    }
+}
@@ -0,0 +1,110 @@
+package dao;
+
+import database.FakeDatabase;
+import database.TransactionTemplate;
+import model.NotificationReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JdbcNotificationDAOTest {
+
+    private static final Instant JOINED = Instant.parse("2026-03-01T09:00:00Z");
+
+    private FakeDatabase database;
+    private JdbcNotificationDAO dao;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = new FakeDatabase(0);
+        dao = new JdbcNotificationDAO(database.connection());
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        database.close();
+    }
+
+    @Test
+    void audienceMessagesAreLimitedToThoseSinceTheReaderJoined() {
+        NotificationReader admin = NotificationReader.staff(4, true, JOINED);
+
+        dao.countUnreadForUser(admin);
+        dao.findForUser(admin);
+        dao.findArchivedPageForUser(admin, null, 20);
+
+        assertEquals(3, database.executed().size());
+        for (FakeDatabase.Executed statement : database.executed()) {
+            assertTrue(statement.sql().contains("AND m.created_at >= ?"), statement.sql());
+            assertAudience(statement.parameters(), true, true, JOINED);
+        }
+    }
+
+    @Test
+    void audienceReceiptsAreOnlyCreatedForVisibleMessages() {
+        // No receipt yet, so the audience receipt is inserted.
+        database.setUpdatedRows(0);
+        NotificationReader staff = NotificationReader.staff(4, false, JOINED);
+
+        dao.markAsRead(staff, 12);
+
+        FakeDatabase.Executed insert = database.executed().get(database.executed().size() - 1);
+        assertTrue(insert.sql().contains("created_at >= ?"), insert.sql());
+        assertEquals(Timestamp.from(JOINED), insert.parameters().get(6));
+    }
+
+    @Test
+    void markAllAsReadUpdatesTheReceiptsTheWatermarkCovers() {
+        database.setRows(1);
+
+        dao.markAllAsRead(NotificationReader.customer(7));
+
+        List<FakeDatabase.Executed> statements = database.executed();
+        assertEquals(3, statements.size());
+        FakeDatabase.Executed receipts = statements.get(1);
+        FakeDatabase.Executed mark = statements.get(2);
+        assertTrue(receipts.sql().startsWith("UPDATE notification_receipts SET is_read=TRUE"), receipts.sql());
+        assertEquals(Map.of(1, "customer", 2, 7, 3, 1), receipts.parameters());
+        assertTrue(mark.sql().contains("notification_read_marks"), mark.sql());
+        assertEquals(Map.of(1, "customer", 2, 7, 3, 1), mark.parameters());
+    }
+
+    @Test
+    void archivingWaitsForTheAudienceToo() {
+        database.install();
+
+        int moved = TransactionTemplate.execute(() -> dao.archiveBatch(Instant.parse("2026-01-01T00:00:00Z"), 10));
+
+        assertEquals(0, moved);
+        String select = database.executed().get(0).sql();
+        assertTrue(select.contains("FROM staff s"), select);
+        assertTrue(select.contains("s.created_at <= m.created_at"), select);
+    }
+
+    @Test
+    void unknownJoinTimeShowsEveryAudienceMessage() {
+        assertEquals(Instant.EPOCH, NotificationReader.staff(4, false, null).audienceSince());
+        assertEquals(Instant.EPOCH, NotificationReader.customer(4).audienceSince());
+    }
+
+    private static void assertAudience(Map<Integer, Object> parameters, boolean staff, boolean admin, Instant since) {
+        // The flags and the join time are the last three parameters before any cursor or limit.
+        int flags = parameters.entrySet().stream()
+                .filter(e -> e.getValue() instanceof Boolean)
+                .mapToInt(Map.Entry::getKey)
+                .min()
+                .orElseThrow();
+        assertEquals(staff, parameters.get(flags));
+        assertEquals(admin, parameters.get(flags + 1));
+        assertEquals(Timestamp.from(since), parameters.get(flags + 2));
+    }
+}
@@ -0,0 +1,72 @@
+package dao;
+
+import database.FakeDatabase;
+import model.reservation.Reservation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class JdbcReservationDAOTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    private static final LocalDate END = LocalDate.of(2026, 1, 5);
+
+    private FakeDatabase database;
+    private JdbcReservationDAO dao;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = new FakeDatabase(0);
+        dao = new JdbcReservationDAO(database.connection());
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        database.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 50, 500})
+    void listsLoadCustomersAndRoomsInOneStatement(int rows) {
+        database.setRows(rows);
+
+        assertOneStatement(rows, dao::findAll);
+        assertOneStatement(rows, () -> dao.findByCustomer(7));
+        assertOneStatement(rows, () -> dao.findHistoryByCustomer(7));
+        assertOneStatement(rows, () -> dao.findByFilters("ayse", "101", START, END));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 50})
+    void overlapCheckLoadsCustomerAndRoomInOneStatement(int rows) {
+        database.setRows(rows);
+
+        Reservation overlap = dao.findFirstOverlapForRoom(3, START, END);
+
+        assertEquals(1, database.executedStatements());
+        assertNotNull(overlap.getCustomer());
+        assertNotNull(overlap.getRoom());
+    }
+
+    private void assertOneStatement(int rows, Supplier<List<Reservation>> query) {
+        database.resetCount();
+
+        List<Reservation> reservations = query.get();
+
+        assertEquals(rows, reservations.size());
+        assertEquals(1, database.executedStatements());
+        for (Reservation reservation : reservations) {
+            assertNotNull(reservation.getCustomer());
+            assertNotNull(reservation.getRoom());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package dao;
+
+import database.FakeDatabase;
+import database.TransactionTemplate;
+import model.reservation.Reservation;
+import model.room.Room;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JdbcRoomDAOTest {
+
+    private FakeDatabase database;
+    private JdbcRoomDAO dao;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = new FakeDatabase(0);
+        dao = new JdbcRoomDAO(database.connection());
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        database.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 50, 500})
+    void availabilitySearchRunsOneStatement(int rows) {
+        database.setRows(rows);
+
+        Map<Room, Reservation> rooms = dao.searchWithFirstOverlap("standard", 1, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 5));
+
+        assertEquals(rows, rooms.size());
+        assertEquals(1, database.executedStatements());
+    }
+
+    @Test
+    void readsInsideATransactionBypassTheRoomCache() {
+        database.install();
+        database.setRows(1);
+        RoomCache.getInstance().invalidate(1);
+        dao.findById(1);
+        dao.findById(1);
+        assertEquals(1, database.executedStatements(), "second read outside a transaction is cached");
+
+        database.resetCount();
+        RoomCache.getInstance().invalidate(1);
+        TransactionTemplate.run(() -> {
+            dao.findById(1);
+            dao.findById(1);
+            dao.findAll();
+        });
+        assertEquals(3, database.executedStatements());
+
+        database.resetCount();
+        dao.findById(1);
+        assertEquals(1, database.executedStatements(), "reads in the transaction must not fill the cache");
+    }
+}
@@ -0,0 +1,52 @@
+package dao;
+
+import database.FakeDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UniqueValueFilterTest {
+
+    private FakeDatabase database;
+    private UniqueValueFilter filter;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // Every loaded row has an empty username, email and national id.
+        database = new FakeDatabase(3);
+        database.install();
+        filter = new UniqueValueFilter("customers");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        database.close();
+    }
+
+    @Test
+    void loadsOnceAndAnswersNewValuesWithoutQuerying() {
+        assertFalse(filter.mightExist("ayse", "ayse@example.com", "12345678901"));
+        assertEquals(2, database.executedStatements());
+
+        assertFalse(filter.mightExist("mehmet", "mehmet@example.com", "10987654321"));
+        assertTrue(filter.mightExist("", "x@example.com", "1"), "loaded values must be found");
+        assertEquals(2, database.executedStatements());
+    }
+
+    @Test
+    void addedValuesAreFoundIgnoringCaseAndPadding() {
+        filter.mightExist("x", "x", "x");
+        filter.add("Ayse", "Ayse@Example.com", "12345678901");
+
+        assertTrue(filter.mightExist(" ayse ", null, null));
+        assertTrue(filter.mightExist(null, "AYSE@example.COM", null));
+        assertTrue(filter.mightExist(null, null, "12345678901"));
+        assertFalse(filter.mightExist("ayse@example.com", "ayse", null), "fields are kept apart");
+    }
+}
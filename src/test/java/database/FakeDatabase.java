@@ -0,0 +1,245 @@
+package database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * A {@link DatabaseConnection} whose pool connects to an in-memory JDBC driver. Every
+ * query returns {@code rows} rows: ints are the row number, strings are empty, dates and
+ * timestamps are fixed. Updates affect one row unless set otherwise. Executed statements
+ * are counted and kept with their SQL and bound parameters.
+ */
+public final class FakeDatabase implements Driver, AutoCloseable {
+
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+    private static final java.sql.Date DATE = java.sql.Date.valueOf(LocalDate.of(2026, 1, 1));
+    private static final Timestamp TIMESTAMP = Timestamp.from(Instant.parse("2026-01-01T00:00:00Z"));
+
+    private final String url = "jdbc:fake:" + NEXT_ID.incrementAndGet();
+    private final AtomicInteger executed = new AtomicInteger();
+    private final List<Executed> log = new ArrayList<>();
+    private final AtomicInteger generatedKeys = new AtomicInteger();
+    private final ConnectionPool pool;
+    private final DatabaseConnection database;
+    private volatile int rows;
+    private volatile int updatedRows = 1;
+    private boolean installed;
+
+    public FakeDatabase(int rows) throws SQLException {
+        this.rows = rows;
+        DriverManager.registerDriver(this);
+        this.pool = new ConnectionPool(url, "", "", 0, 10, 10_000, 300_000, 60_000, false, "SELECT 1");
+        this.database = new DatabaseConnection(pool);
+    }
+
+    public DatabaseConnection connection() {
+        return database;
+    }
+
+    /**
+     * Makes this the shared {@link DatabaseConnection}, so transactions run against it too.
+     */
+    public void install() {
+        DatabaseConnection.setInstance(database);
+        installed = true;
+    }
+
+    public void setRows(int rows) {
+        this.rows = rows;
+    }
+
+    public void setUpdatedRows(int updatedRows) {
+        this.updatedRows = updatedRows;
+    }
+
+    public int executedStatements() {
+        return executed.get();
+    }
+
+    public void resetCount() {
+        executed.set(0);
+        synchronized (log) {
+            log.clear();
+        }
+    }
+
+    /**
+     * Statements executed since the last {@link #resetCount()}, oldest first.
+     */
+    public List<Executed> executed() {
+        synchronized (log) {
+            return List.copyOf(log);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (installed) {
+            DatabaseConnection.setInstance(null);
+        }
+        pool.shutdown();
+        DriverManager.deregisterDriver(this);
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) {
+        if (!acceptsURL(url)) {
+            return null;
+        }
+        boolean[] autoCommit = {true};
+        return proxy(Connection.class, (proxy, method, args) -> switch (method.getName()) {
+            case "prepareStatement" -> statement((String) args[0]);
+            case "createStatement" -> statement(null);
+            case "getAutoCommit" -> autoCommit[0];
+            case "setAutoCommit" -> {
+                autoCommit[0] = (Boolean) args[0];
+                yield null;
+            }
+            default -> defaultValue(method.getReturnType());
+        });
+    }
+
+    private PreparedStatement statement(String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(PreparedStatement.class, (proxy, method, args) -> switch (method.getName()) {
+            case "executeQuery" -> {
+                record(sql, parameters);
+                yield resultSet(rows);
+            }
+            case "executeUpdate", "executeLargeUpdate" -> {
+                record(sql, parameters);
+                yield updatedRows;
+            }
+            case "execute" -> {
+                record(sql, parameters);
+                yield false;
+            }
+            case "executeBatch" -> {
+                record(sql, parameters);
+                yield new int[0];
+            }
+            case "getGeneratedKeys" -> keys();
+            default -> {
+                if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, args[1]);
+                }
+                yield defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    private void record(String sql, Map<Integer, Object> parameters) {
+        executed.incrementAndGet();
+        synchronized (log) {
+            log.add(new Executed(sql, new TreeMap<>(parameters)));
+        }
+    }
+
+    private ResultSet resultSet(int size) {
+        int[] row = {0};
+        return proxy(ResultSet.class, (proxy, method, args) -> switch (method.getName()) {
+            case "next" -> ++row[0] <= size;
+            case "getInt" -> row[0];
+            case "getLong" -> (long) row[0];
+            case "getString" -> "";
+            case "getDate" -> DATE;
+            case "getTimestamp" -> TIMESTAMP;
+            default -> defaultValue(method.getReturnType());
+        });
+    }
+
+    private ResultSet keys() {
+        int key = generatedKeys.incrementAndGet();
+        boolean[] read = {false};
+        return proxy(ResultSet.class, (proxy, method, args) -> switch (method.getName()) {
+            case "next" -> {
+                boolean first = !read[0];
+                read[0] = true;
+                yield first;
+            }
+            case "getInt" -> key;
+            case "getLong" -> (long) key;
+            default -> defaultValue(method.getReturnType());
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(FakeDatabase.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> type.getSimpleName() + "@fake";
+                    default -> handler.invoke(proxy, method, args);
+                }));
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0.0;
+        }
+        return null;
+    }
+
+    /**
+     * One executed statement; parameters by their 1-based index, as last bound.
+     */
+    public record Executed(String sql, Map<Integer, Object> parameters) {
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+        return this.url.equals(url);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+}
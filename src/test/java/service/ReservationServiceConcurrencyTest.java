@@ -0,0 +1,307 @@
+package service;
+
+import dao.JdbcReservationActionDAO;
+import dao.NotificationOutboxDAO;
+import dao.ReservationDAO;
+import dao.RoomDAO;
+import database.FakeDatabase;
+import factory.RoomFactory;
+import model.Page;
+import model.PageCursor;
+import model.reservation.Reservation;
+import model.reservation.ReservationSummary;
+import model.room.Room;
+import model.user.Customer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReservationServiceConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final LocalDate JAN_1 = LocalDate.of(2026, 1, 1);
+
+    private FakeDatabase database;
+    private InMemoryReservationDAO reservations;
+    private ReservationService service;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = new FakeDatabase(0);
+        database.install();
+        reservations = new InMemoryReservationDAO();
+        service = new ReservationService(reservations, new JdbcReservationActionDAO(database.connection()),
+                new NotificationOutboxDAO(database.connection()), new InMemoryRoomDAO());
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        database.close();
+    }
+
+    @Test
+    void oneBookingWinsPerOverlappingRange() throws Exception {
+        Room room = room(3);
+        // Every range overlaps the others of its group; the two groups do not overlap.
+        List<LocalDate[]> ranges = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            LocalDate start = JAN_1.plusDays(i % 2 == 0 ? i % 3 : 10 + i % 3);
+            ranges.add(new LocalDate[]{start, start.plusDays(3)});
+        }
+
+        List<Object> outcomes = bookConcurrently(room, ranges);
+
+        int winsEarly = 0;
+        int winsLate = 0;
+        for (int i = 0; i < THREADS; i++) {
+            Object outcome = outcomes.get(i);
+            if (outcome instanceof Reservation) {
+                if (i % 2 == 0) {
+                    winsEarly++;
+                } else {
+                    winsLate++;
+                }
+            } else {
+                assertInstanceOf(IllegalStateException.class, outcome);
+            }
+        }
+        assertEquals(1, winsEarly);
+        assertEquals(1, winsLate);
+        assertEquals(2, reservations.stored().size());
+    }
+
+    private List<Object> bookConcurrently(Room room, List<LocalDate[]> ranges) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(ranges.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < ranges.size(); i++) {
+                Customer customer = new Customer();
+                customer.setId(i + 1);
+                LocalDate[] range = ranges.get(i);
+                futures.add(executor.submit((Callable<Object>) () -> {
+                    start.await();
+                    try {
+                        return service.createReservation(customer, room, range[0], range[1]);
+                    } catch (RuntimeException e) {
+                        return e;
+                    }
+                }));
+            }
+            start.countDown();
+            List<Object> outcomes = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                outcomes.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+    }
+
+    private static Room room(int id) {
+        Room room = RoomFactory.createRoom("standard");
+        room.setId(id);
+        room.setRoomNumber(String.valueOf(100 + id));
+        room.setCapacity(2);
+        room.setPricePerNight(75.0);
+        room.setStatus("available");
+        return room;
+    }
+
+    /**
+     * Checking for an overlap and inserting are separate calls, with a pause in between,
+     * as with the database; only the service's locking keeps them together.
+     */
+    private static final class InMemoryReservationDAO implements ReservationDAO {
+
+        private final List<Reservation> rows = new ArrayList<>();
+        private final AtomicInteger nextId = new AtomicInteger();
+
+        synchronized List<Reservation> stored() {
+            return new ArrayList<>(rows);
+        }
+
+        @Override
+        public Reservation findFirstOverlapForRoom(int roomId, LocalDate startDate, LocalDate endDate) {
+            Reservation overlap = null;
+            synchronized (this) {
+                for (Reservation row : rows) {
+                    if (row.getRoom().getId() == roomId
+                            && row.getStartDate().isBefore(endDate) && startDate.isBefore(row.getEndDate())) {
+                        overlap = row;
+                        break;
+                    }
+                }
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return overlap;
+        }
+
+        @Override
+        public int create(Reservation reservation) {
+            int id = nextId.incrementAndGet();
+            reservation.setReservationId(id);
+            synchronized (this) {
+                for (Reservation row : rows) {
+                    assertFalse(row.getRoom().getId() == reservation.getRoom().getId()
+                                    && row.getStartDate().isBefore(reservation.getEndDate())
+                                    && reservation.getStartDate().isBefore(row.getEndDate()),
+                            "double booking of room " + reservation.getRoom().getId());
+                }
+                rows.add(reservation);
+            }
+            return id;
+        }
+
+        @Override
+        public Reservation findById(int id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ReservationSummary findSummaryById(int id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map<Integer, ReservationSummary> findSummariesByIds(Collection<Integer> ids) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Reservation> findByCustomer(int customerId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Reservation> findHistoryByCustomer(int customerId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ReservationSummary> findSummariesByCustomer(int customerId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ReservationSummary> findSummaryHistoryByCustomer(int customerId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Reservation> findAll() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void updateStatus(int reservationId, String status) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void cancel(int reservationId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Page<Reservation> findPage(PageCursor after, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Page<Reservation> findPageByFilters(String customerFilter, String roomFilter, LocalDate startDate, LocalDate endDate, PageCursor after, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Page<ReservationSummary> findSummaryPageByFilters(String customerFilter, String roomFilter, LocalDate startDate, LocalDate endDate, PageCursor after, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Reservation> findByFilters(String customerFilter, String roomFilter, LocalDate startDate, LocalDate endDate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void updatePaymentStatus(int reservationId, String paymentStatus) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Every room exists; {@code lockForUpdate} takes no lock, as if another process never
+     * touched the table, so only the in-process lock is tested.
+     */
+    private static final class InMemoryRoomDAO implements RoomDAO {
+
+        @Override
+        public boolean lockForUpdate(int roomId) {
+            return true;
+        }
+
+        @Override
+        public void updateStatus(int roomId, String status) {
+        }
+
+        @Override
+        public int create(Room room) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Room findById(int id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Room> findAll() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Room> searchAllByTypeAndCapacity(String type, int capacity) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map<Room, Reservation> searchWithFirstOverlap(String type, int capacity, LocalDate startDate, LocalDate endDate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Room> search(String type, int capacity, LocalDate startDate, LocalDate endDate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void update(Room room) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
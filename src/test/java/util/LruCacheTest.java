@@ -0,0 +1,113 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LruCacheTest {
+
+    @Test
+    void loadThatRacedWithAnInvalidationIsNotStored() {
+        LruCache<Integer, String> cache = new LruCache<>(10, null);
+
+        long loadedVersion = cache.version();
+        // A write lands while the old row is being read.
+        cache.invalidate(1);
+        cache.putIfVersion(loadedVersion, 1, "stale");
+
+        assertNull(cache.get(1));
+        cache.putIfVersion(cache.version(), 1, "fresh");
+        assertEquals("fresh", cache.get(1));
+    }
+
+    @Test
+    void invalidatingAnyKeyRejectsEveryLoadStartedBeforeIt() {
+        LruCache<Integer, String> cache = new LruCache<>(10, null);
+
+        long loadedVersion = cache.version();
+        cache.invalidate(2);
+        cache.putIfVersion(loadedVersion, 1, "maybe stale");
+
+        assertNull(cache.get(1));
+    }
+
+    @Test
+    void concurrentLoadsNeverCacheAValueOlderThanTheLastWrite() throws Exception {
+        LruCache<Integer, Integer> cache = new LruCache<>(10, null);
+        int[] row = {0};
+        int writes = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 1; i <= writes; i++) {
+                    synchronized (row) {
+                        row[0] = i;
+                    }
+                    cache.invalidate(1);
+                }
+                return null;
+            }));
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < writes; i++) {
+                        long version = cache.version();
+                        int loaded;
+                        synchronized (row) {
+                            loaded = row[0];
+                        }
+                        cache.putIfVersion(version, 1, loaded);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Integer cached = cache.get(1);
+        if (cached != null) {
+            assertEquals(writes, cached);
+        }
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        LruCache<Integer, String> cache = new LruCache<>(2, null);
+        cache.putIfVersion(cache.version(), 1, "one");
+        cache.putIfVersion(cache.version(), 2, "two");
+        cache.get(1);
+        cache.putIfVersion(cache.version(), 3, "three");
+
+        assertNull(cache.get(2));
+        assertEquals("one", cache.get(1));
+        assertEquals("three", cache.get(3));
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void expiresEntriesAfterTheTimeToLive() throws InterruptedException {
+        LruCache<Integer, String> cache = new LruCache<>(10, Duration.ofMillis(20));
+        cache.putIfVersion(cache.version(), 1, "one");
+        Thread.sleep(50);
+
+        assertNull(cache.get(1));
+        assertEquals(1, cache.stats().expirations());
+    }
+}
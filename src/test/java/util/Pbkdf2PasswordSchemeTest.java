@@ -0,0 +1,55 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Pbkdf2PasswordSchemeTest {
+
+    private final Pbkdf2PasswordScheme scheme = new Pbkdf2PasswordScheme(1_000);
+
+    @Test
+    void hashMatchesOnlyTheOriginalPassword() {
+        String hash = scheme.hash("correct horse");
+
+        assertTrue(hash.startsWith("pbkdf2-sha256$1000$"));
+        assertTrue(scheme.recognizes(hash));
+        assertTrue(scheme.matches("correct horse", hash));
+        assertFalse(scheme.matches("correct horsf", hash));
+        assertNotEquals(hash, scheme.hash("correct horse"), "salt must differ per hash");
+    }
+
+    @Test
+    void malformedHashesDoNotMatch() {
+        assertFalse(scheme.matches("secret", "pbkdf2-sha256$1000$zz$zz"));
+        assertFalse(scheme.matches("secret", "pbkdf2-sha256$1000$abcd"));
+        assertTrue(scheme.needsRehash("pbkdf2-sha256$many$abcd$abcd"));
+    }
+
+    @Test
+    void hashesWithFewerIterationsNeedRehash() {
+        String weaker = new Pbkdf2PasswordScheme(500).hash("secret");
+        String stronger = new Pbkdf2PasswordScheme(2_000).hash("secret");
+
+        assertTrue(scheme.matches("secret", weaker));
+        assertTrue(scheme.needsRehash(weaker));
+        assertFalse(scheme.needsRehash(scheme.hash("secret")));
+        assertFalse(scheme.needsRehash(stronger));
+    }
+
+    @Test
+    void legacySha256HashesVerifyAndAlwaysNeedRehash() throws Exception {
+        String legacy = Hex.encode(MessageDigest.getInstance("SHA-256")
+                .digest("secret".getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(HashUtil.isPasswordMatch("secret", legacy));
+        assertFalse(HashUtil.isPasswordMatch("Secret", legacy));
+        assertTrue(HashUtil.needsRehash(legacy));
+        assertFalse(scheme.recognizes(legacy));
+    }
+}
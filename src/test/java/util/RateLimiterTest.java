@@ -0,0 +1,80 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    @Test
+    void allowsTheBurstThenReportsTheWait() {
+        RateLimiter limiter = new RateLimiter(16, 3, 1);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("ayse"));
+        }
+        long wait = limiter.tryAcquire("ayse");
+
+        assertTrue(wait > TimeUnit.SECONDS.toNanos(50), "wait was " + wait);
+        assertTrue(wait <= TimeUnit.MINUTES.toNanos(1), "wait was " + wait);
+        assertTrue(limiter.tryAcquire("ayse") > 0, "a rejected attempt must not take a token");
+    }
+
+    @Test
+    void keysInTheSameStripeShareABucket() {
+        RateLimiter limiter = new RateLimiter(1, 2, 1);
+
+        assertEquals(0, limiter.tryAcquire("ayse"));
+        assertEquals(0, limiter.tryAcquire("mehmet"));
+        assertTrue(limiter.tryAcquire("zeynep") > 0);
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheBurst() throws Exception {
+        int threads = 16;
+        int attemptsPerThread = 50;
+        RateLimiter limiter = new RateLimiter(1, 20, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int granted = 0;
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (limiter.tryAcquire("terminal") == 0) {
+                            granted++;
+                        }
+                    }
+                    return granted;
+                }));
+            }
+            start.countDown();
+            int granted = 0;
+            for (Future<Integer> future : futures) {
+                granted += future.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(20, granted);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectsNonPositiveSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(1, 1, 0));
+    }
+}